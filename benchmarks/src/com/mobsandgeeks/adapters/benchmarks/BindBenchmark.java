@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.ListView;
+
+import com.mobsandgeeks.adapters.InstantAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating rows and binding recycled rows in steady state, one benchmark per kind of
+ * {@code @InstantText} column. Binding walks the items in order, so every bind shows a
+ * different value.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindBenchmark {
+
+    // Power of two, positions wrap around with a mask
+    private static final int N_ITEMS = 512;
+
+    @Param({ Fixtures.PLAIN, Fixtures.DATE, Fixtures.FORMAT, Fixtures.HTML })
+    public String column;
+
+    private InstantAdapter<Object> mAdapter;
+    private ListView mListView;
+    private View mRow;
+    private int mPosition;
+
+    @Setup
+    public void setUp() {
+        Context context = Fixtures.newContext();
+        mAdapter = new InstantAdapter<Object>(context, Fixtures.LAYOUT_ROW,
+                Fixtures.dataType(column), Fixtures.items(column, N_ITEMS));
+        mListView = new ListView(context);
+        mListView.setAdapter(mAdapter);
+        mRow = mAdapter.getView(0, null, mListView);
+    }
+
+    @Benchmark
+    public View createRow() {
+        return mAdapter.getView(0, null, mListView);
+    }
+
+    @Benchmark
+    public View bindRow() {
+        mPosition = (mPosition + 1) & (N_ITEMS - 1);
+        return mAdapter.getView(mPosition, mRow, mListView);
+    }
+
+}
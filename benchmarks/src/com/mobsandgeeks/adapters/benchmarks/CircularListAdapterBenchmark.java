@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import com.mobsandgeeks.adapters.CircularListAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups through a {@link CircularListAdapter} at positions spread over its virtual range.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircularListAdapterBenchmark {
+
+    private static final int N_ITEMS = 1000;
+    private static final int N_LOOKUPS = 1024;
+
+    private CircularListAdapter mAdapter;
+    private int[] mPositions;
+    private int mLookup;
+
+    @Setup
+    public void setUp() {
+        mAdapter = new CircularListAdapter(new Fixtures.IntegerAdapter(N_ITEMS));
+
+        Random random = new Random(42);
+        mPositions = new int[N_LOOKUPS];
+        for (int i = 0; i < N_LOOKUPS; i++) {
+            mPositions[i] = random.nextInt(Integer.MAX_VALUE);
+        }
+    }
+
+    @Benchmark
+    public Object getItem() {
+        mLookup = (mLookup + 1) & (N_LOOKUPS - 1);
+        return mAdapter.getItem(mPositions[mLookup]);
+    }
+
+    @Benchmark
+    public long getItemId() {
+        mLookup = (mLookup + 1) & (N_LOOKUPS - 1);
+        return mAdapter.getItemId(mPositions[mLookup]);
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import android.content.Context;
+
+import com.mobsandgeeks.adapters.InstantAdapter;
+import com.mobsandgeeks.adapters.InstantMetadataCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Constructing an {@link InstantAdapter}, with the reflection scan ({@code cold}) and with the
+ * metadata served from the {@link InstantMetadataCache} ({@code cached}).
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    @Param({ Fixtures.PLAIN, Fixtures.HTML })
+    public String column;
+
+    private Context mContext;
+    private Class<?> mDataType;
+    private List<Object> mItems;
+
+    @Setup
+    public void setUp() {
+        mContext = Fixtures.newContext();
+        mDataType = Fixtures.dataType(column);
+        mItems = Fixtures.items(column, 16);
+    }
+
+    @Benchmark
+    public InstantAdapter<Object> cold() {
+        InstantMetadataCache.clear();
+        return new InstantAdapter<Object>(mContext, Fixtures.LAYOUT_ROW, mDataType, mItems);
+    }
+
+    @Benchmark
+    public InstantAdapter<Object> cached() {
+        return new InstantAdapter<Object>(mContext, Fixtures.LAYOUT_ROW, mDataType, mItems);
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import com.mobsandgeeks.adapters.InstantDiff;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffs a list against a copy of itself with {@code changes} items removed and as many inserted
+ * at random positions.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiffBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int items;
+
+    @Param({ "1", "10", "100" })
+    public int changes;
+
+    private List<Integer> mOldList;
+    private List<Integer> mNewList;
+
+    @Setup
+    public void setUp() {
+        mOldList = new ArrayList<Integer>(items);
+        for (int i = 0; i < items; i++) {
+            mOldList.add(i);
+        }
+
+        Random random = new Random(42);
+        mNewList = new ArrayList<Integer>(mOldList);
+        for (int i = 0; i < changes; i++) {
+            mNewList.remove(random.nextInt(mNewList.size()));
+            mNewList.add(random.nextInt(mNewList.size()), -i - 1);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public InstantDiff.Result calculate() {
+        return InstantDiff.calculate(mOldList, mNewList, InstantDiff.EQUALS);
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
+
+import com.mobsandgeeks.adapters.InstantText;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Models, layouts and adapters shared by the benchmarks. Layouts are built in code and
+ * registered with the {@link LayoutInflater} stand-in.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class Fixtures {
+
+    // Layouts
+    static final int LAYOUT_ROW = 0x7f030001;
+    static final int LAYOUT_SECTION_HEADER = 0x7f030002;
+
+    // Views
+    static final int ID_TEXT = 0x7f080001;
+    static final int ID_SECTION_TITLE = 0x7f080002;
+    static final int[] ID_DECORATIONS = { 0x7f080010, 0x7f080011, 0x7f080012, 0x7f080013 };
+
+    // Columns
+    static final String PLAIN = "plain";
+    static final String DATE = "date";
+    static final String FORMAT = "format";
+    static final String HTML = "html";
+
+    static {
+        LayoutInflater.register(LAYOUT_ROW, new LayoutInflater.LayoutBuilder() {
+            @Override
+            public View build(final Context context) {
+                ViewGroup row = new ViewGroup(context);
+                row.addView(newTextView(context, ID_TEXT));
+                for (int id : ID_DECORATIONS) {
+                    row.addView(newTextView(context, id));
+                }
+                return row;
+            }
+        });
+        LayoutInflater.register(LAYOUT_SECTION_HEADER, new LayoutInflater.LayoutBuilder() {
+            @Override
+            public View build(final Context context) {
+                ViewGroup header = new ViewGroup(context);
+                header.addView(newTextView(context, ID_SECTION_TITLE));
+                return header;
+            }
+        });
+    }
+
+    private Fixtures() {
+        // No instances
+    }
+
+    private static TextView newTextView(final Context context, final int id) {
+        TextView textView = new TextView(context);
+        textView.setId(id);
+        return textView;
+    }
+
+    static Context newContext() {
+        return new Context();
+    }
+
+    static Class<?> dataType(final String column) {
+        if (PLAIN.equals(column)) {
+            return PlainItem.class;
+        } else if (DATE.equals(column)) {
+            return DateItem.class;
+        } else if (FORMAT.equals(column)) {
+            return FormatItem.class;
+        } else if (HTML.equals(column)) {
+            return HtmlItem.class;
+        }
+        throw new IllegalArgumentException("Unknown column " + column);
+    }
+
+    static List<Object> items(final String column, final int count) {
+        List<Object> items = new ArrayList<Object>(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            if (PLAIN.equals(column)) {
+                items.add(new PlainItem("Item " + i));
+            } else if (DATE.equals(column)) {
+                items.add(new DateItem(new Date(now - i * 86400000L)));
+            } else if (FORMAT.equals(column)) {
+                items.add(new FormatItem(i));
+            } else if (HTML.equals(column)) {
+                items.add(new HtmlItem("<b>Item " + i + "</b> &amp; <i>details</i>"));
+            } else {
+                throw new IllegalArgumentException("Unknown column " + column);
+            }
+        }
+        return items;
+    }
+
+    public static class PlainItem {
+        private final String mName;
+
+        PlainItem(final String name) {
+            mName = name;
+        }
+
+        @InstantText(viewId = ID_TEXT)
+        public String getName() {
+            return mName;
+        }
+    }
+
+    public static class DateItem {
+        private final Date mDate;
+
+        DateItem(final Date date) {
+            mDate = date;
+        }
+
+        @InstantText(viewId = ID_TEXT, datePattern = "dd MMM yyyy")
+        public Date getDate() {
+            return mDate;
+        }
+    }
+
+    public static class FormatItem {
+        private final int mCount;
+
+        FormatItem(final int count) {
+            mCount = count;
+        }
+
+        @InstantText(viewId = ID_TEXT, formatString = "%d items")
+        public int getCount() {
+            return mCount;
+        }
+    }
+
+    public static class HtmlItem {
+        private final String mDescription;
+
+        HtmlItem(final String description) {
+            mDescription = description;
+        }
+
+        @InstantText(viewId = ID_TEXT, isHtml = true)
+        public String getDescription() {
+            return mDescription;
+        }
+    }
+
+    /**
+     * Adapter over the integers {@code 0} to {@code count - 1}, boxed up front.
+     */
+    static class IntegerAdapter extends BaseAdapter {
+        private final Integer[] mItems;
+
+        IntegerAdapter(final int count) {
+            mItems = new Integer[count];
+            for (int i = 0; i < count; i++) {
+                mItems[i] = i;
+            }
+        }
+
+        @Override
+        public int getCount() {
+            return mItems.length;
+        }
+
+        @Override
+        public Object getItem(final int position) {
+            return mItems[position];
+        }
+
+        @Override
+        public long getItemId(final int position) {
+            return position;
+        }
+
+        @Override
+        public View getView(final int position, final View convertView, final ViewGroup parent) {
+            return convertView;
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import com.mobsandgeeks.adapters.KeyedSectionizer;
+import com.mobsandgeeks.adapters.Sectionizer;
+import com.mobsandgeeks.adapters.SimpleSectionAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping list positions to items in a {@link SimpleSectionAdapter}, with a section every
+ * {@value #ITEMS_PER_SECTION} items, and recomputing the sections using either a
+ * {@link Sectionizer} or a {@link KeyedSectionizer}.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SectionBenchmark {
+
+    private static final int ITEMS_PER_SECTION = 100;
+    private static final int N_LOOKUPS = 1024;
+
+    @Param({ "1000", "100000", "1000000" })
+    public int items;
+
+    @Param({ "titles", "keys" })
+    public String sectionizer;
+
+    private SimpleSectionAdapter<Integer> mAdapter;
+    private int[] mPositions;
+    private int mLookup;
+
+    @Setup
+    public void setUp() {
+        int nSections = (items + ITEMS_PER_SECTION - 1) / ITEMS_PER_SECTION;
+        final String[] titles = new String[nSections];
+        for (int i = 0; i < nSections; i++) {
+            titles[i] = "Section " + i;
+        }
+
+        if ("keys".equals(sectionizer)) {
+            mAdapter = new SimpleSectionAdapter<Integer>(Fixtures.newContext(),
+                    new Fixtures.IntegerAdapter(items), Fixtures.LAYOUT_SECTION_HEADER,
+                    Fixtures.ID_SECTION_TITLE, new KeyedSectionizer<Integer>() {
+                        @Override
+                        public long getSectionKeyForItem(final Integer instance) {
+                            return instance / ITEMS_PER_SECTION;
+                        }
+
+                        @Override
+                        public String getSectionTitleForKey(final long sectionKey) {
+                            return titles[(int) sectionKey];
+                        }
+                    });
+        } else {
+            mAdapter = new SimpleSectionAdapter<Integer>(Fixtures.newContext(),
+                    new Fixtures.IntegerAdapter(items), Fixtures.LAYOUT_SECTION_HEADER,
+                    Fixtures.ID_SECTION_TITLE, new Sectionizer<Integer>() {
+                        @Override
+                        public String getSectionTitleForItem(final Integer instance) {
+                            return titles[instance / ITEMS_PER_SECTION];
+                        }
+                    });
+        }
+
+        Random random = new Random(42);
+        mPositions = new int[N_LOOKUPS];
+        for (int i = 0; i < N_LOOKUPS; i++) {
+            mPositions[i] = random.nextInt(mAdapter.getCount());
+        }
+    }
+
+    @Benchmark
+    public int getIndexForPosition() {
+        mLookup = (mLookup + 1) & (N_LOOKUPS - 1);
+        return mAdapter.getIndexForPosition(mPositions[mLookup]);
+    }
+
+    @Benchmark
+    public int getItemViewType() {
+        mLookup = (mLookup + 1) & (N_LOOKUPS - 1);
+        return mAdapter.getItemViewType(mPositions[mLookup]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public int findSections() {
+        mAdapter.notifyDataSetChanged();
+        return mAdapter.getCount();
+    }
+
+}
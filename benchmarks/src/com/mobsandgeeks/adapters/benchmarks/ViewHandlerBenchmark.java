@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.benchmarks;
+
+import android.content.Context;
+import android.view.View;
+import android.widget.ListAdapter;
+import android.widget.ListView;
+
+import com.mobsandgeeks.adapters.InstantAdapter;
+import com.mobsandgeeks.adapters.ViewHandler;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding a row with a growing number of {@link ViewHandler}s, the handlers themselves do next
+ * to nothing so the cost measured is the dispatch.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewHandlerBenchmark {
+
+    private static final int N_ITEMS = 512;
+
+    @Param({ "0", "1", "4" })
+    public int handlers;
+
+    private InstantAdapter<Object> mAdapter;
+    private ListView mListView;
+    private View mRow;
+    private int mPosition;
+
+    @Setup
+    public void setUp() {
+        Context context = Fixtures.newContext();
+        mAdapter = new InstantAdapter<Object>(context, Fixtures.LAYOUT_ROW,
+                Fixtures.dataType(Fixtures.PLAIN), Fixtures.items(Fixtures.PLAIN, N_ITEMS));
+
+        ViewHandler<Object> viewHandler = new ViewHandler<Object>() {
+            @Override
+            public void handleView(final ListAdapter adapter, final View parent,
+                    final View view, final Object instance, final int position) {
+                view.setVisibility((position & 1) == 0 ? 0 : 8);
+            }
+        };
+        for (int i = 0; i < handlers; i++) {
+            mAdapter.setViewHandler(Fixtures.ID_DECORATIONS[i], viewHandler);
+        }
+
+        mListView = new ListView(context);
+        mListView.setAdapter(mAdapter);
+        mRow = mAdapter.getView(0, null, mListView);
+    }
+
+    @Benchmark
+    public View bindRow() {
+        mPosition = (mPosition + 1) & (N_ITEMS - 1);
+        return mAdapter.getView(mPosition, mRow, mListView);
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.content.res;
+
+import android.util.DisplayMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in for the Android class of the same name. Strings are registered through
+ * {@link #putString(int, String)}, which does not exist on Android.
+ */
+public class Resources {
+    private final Configuration mConfiguration = new Configuration();
+    private final DisplayMetrics mDisplayMetrics = new DisplayMetrics();
+    private final Map<Integer, String> mStrings = new HashMap<Integer, String>();
+
+    public Configuration getConfiguration() {
+        return mConfiguration;
+    }
+
+    public DisplayMetrics getDisplayMetrics() {
+        return mDisplayMetrics;
+    }
+
+    public String getString(int id) {
+        String string = mStrings.get(id);
+        if (string == null) {
+            throw new IllegalArgumentException("No string resource " + id);
+        }
+        return string;
+    }
+
+    public void putString(int id, String string) {
+        mStrings.put(id, string);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.database;
+
+/**
+ * JVM stand-in for the Android class of the same name, only what the library uses.
+ */
+public abstract class AbstractCursor implements Cursor {
+    protected int mPos = -1;
+    protected boolean mClosed;
+    private final DataSetObservable mDataSetObservable = new DataSetObservable();
+
+    public abstract int getCount();
+
+    public abstract String[] getColumnNames();
+
+    public abstract String getString(int column);
+
+    public abstract short getShort(int column);
+
+    public abstract int getInt(int column);
+
+    public abstract long getLong(int column);
+
+    public abstract float getFloat(int column);
+
+    public abstract double getDouble(int column);
+
+    public abstract boolean isNull(int column);
+
+    public boolean onMove(int oldPosition, int newPosition) {
+        return true;
+    }
+
+    public int getPosition() {
+        return mPos;
+    }
+
+    public boolean moveToPosition(int position) {
+        int count = getCount();
+        if (position >= count) {
+            mPos = count;
+            return false;
+        } else if (position < 0) {
+            mPos = -1;
+            return false;
+        } else if (position == mPos) {
+            return true;
+        }
+
+        boolean result = onMove(mPos, position);
+        mPos = result ? position : -1;
+        return result;
+    }
+
+    public int getColumnCount() {
+        return getColumnNames().length;
+    }
+
+    public int getColumnIndex(String columnName) {
+        String[] columnNames = getColumnNames();
+        for (int i = 0; i < columnNames.length; i++) {
+            if (columnNames[i].equalsIgnoreCase(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int getColumnIndexOrThrow(String columnName) {
+        int index = getColumnIndex(columnName);
+        if (index < 0) {
+            throw new IllegalArgumentException("column '" + columnName + "' does not exist");
+        }
+        return index;
+    }
+
+    public byte[] getBlob(int column) {
+        throw new UnsupportedOperationException("getBlob is not supported");
+    }
+
+    public void copyStringToBuffer(int column, CharArrayBuffer buffer) {
+        String value = getString(column);
+        if (value == null) {
+            buffer.sizeCopied = 0;
+            return;
+        }
+        if (buffer.data == null || buffer.data.length < value.length()) {
+            buffer.data = value.toCharArray();
+        } else {
+            value.getChars(0, value.length(), buffer.data, 0);
+        }
+        buffer.sizeCopied = value.length();
+    }
+
+    @Deprecated
+    public boolean requery() {
+        mDataSetObservable.notifyChanged();
+        return true;
+    }
+
+    public void close() {
+        mClosed = true;
+        mDataSetObservable.notifyInvalidated();
+    }
+
+    public boolean isClosed() {
+        return mClosed;
+    }
+
+    public void registerDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.registerObserver(observer);
+    }
+
+    public void unregisterDataSetObserver(DataSetObserver observer) {
+        mDataSetObservable.unregisterObserver(observer);
+    }
+}
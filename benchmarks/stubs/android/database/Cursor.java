@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.database;
+
+/**
+ * JVM stand-in for the Android interface of the same name, only what the library uses.
+ */
+public interface Cursor {
+    int getCount();
+
+    int getPosition();
+
+    boolean moveToPosition(int position);
+
+    int getColumnIndex(String columnName);
+
+    int getColumnIndexOrThrow(String columnName);
+
+    String[] getColumnNames();
+
+    int getColumnCount();
+
+    String getString(int columnIndex);
+
+    int getInt(int columnIndex);
+
+    long getLong(int columnIndex);
+
+    short getShort(int columnIndex);
+
+    float getFloat(int columnIndex);
+
+    double getDouble(int columnIndex);
+
+    byte[] getBlob(int columnIndex);
+
+    boolean isNull(int columnIndex);
+
+    void copyStringToBuffer(int columnIndex, CharArrayBuffer buffer);
+
+    void close();
+
+    boolean isClosed();
+
+    void registerDataSetObserver(DataSetObserver observer);
+
+    void unregisterDataSetObserver(DataSetObserver observer);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.database;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for the Android class of the same name.
+ */
+public class DataSetObservable {
+    private final ArrayList<DataSetObserver> mObservers = new ArrayList<DataSetObserver>();
+
+    public void registerObserver(DataSetObserver observer) {
+        if (mObservers.contains(observer)) {
+            throw new IllegalStateException("Observer " + observer + " is already registered.");
+        }
+        mObservers.add(observer);
+    }
+
+    public void unregisterObserver(DataSetObserver observer) {
+        mObservers.remove(observer);
+    }
+
+    public void notifyChanged() {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onChanged();
+        }
+    }
+
+    public void notifyInvalidated() {
+        for (int i = mObservers.size() - 1; i >= 0; i--) {
+            mObservers.get(i).onInvalidated();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.graphics;
+
+import android.content.res.Resources;
+
+/**
+ * JVM stand-in for the Android class of the same name. Images are not decoded, the first eight
+ * bytes of a byte array are read as the width and height of the image.
+ */
+public class BitmapFactory {
+
+    public static class Options {
+        public Bitmap inBitmap;
+        public boolean inJustDecodeBounds;
+        public int inSampleSize;
+        public boolean inMutable;
+        public Bitmap.Config inPreferredConfig = Bitmap.Config.ARGB_8888;
+        public int outWidth;
+        public int outHeight;
+    }
+
+    public static Bitmap decodeFile(String pathName, Options opts) {
+        return null;
+    }
+
+    public static Bitmap decodeResource(Resources res, int id, Options opts) {
+        return null;
+    }
+
+    public static Bitmap decodeByteArray(byte[] data, int offset, int length, Options opts) {
+        if (length < 8) {
+            return null;
+        }
+        int width = readInt(data, offset);
+        int height = readInt(data, offset + 4);
+        if (opts == null) {
+            return new Bitmap(width, height, Bitmap.Config.ARGB_8888, false);
+        }
+
+        opts.outWidth = width;
+        opts.outHeight = height;
+        if (opts.inJustDecodeBounds) {
+            return null;
+        }
+
+        int sampleSize = Math.max(1, opts.inSampleSize);
+        opts.outWidth = (width + sampleSize - 1) / sampleSize;
+        opts.outHeight = (height + sampleSize - 1) / sampleSize;
+        return opts.inBitmap != null ? opts.inBitmap :
+                new Bitmap(opts.outWidth, opts.outHeight, opts.inPreferredConfig, opts.inMutable);
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return (data[offset] & 0xff) << 24 | (data[offset + 1] & 0xff) << 16
+                | (data[offset + 2] & 0xff) << 8 | (data[offset + 3] & 0xff);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.os;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * JVM stand-in for the Android class of the same name. There is a single looper, the thread
+ * that calls {@link #drain()} acts as the main thread.
+ */
+public final class Looper {
+    private static final Looper sMainLooper = new Looper();
+
+    private final ConcurrentLinkedQueue<Runnable> mQueue = new ConcurrentLinkedQueue<Runnable>();
+    private final MessageQueue mMessageQueue = new MessageQueue();
+
+    private Looper() {
+    }
+
+    public static Looper getMainLooper() {
+        return sMainLooper;
+    }
+
+    public static Looper myLooper() {
+        return sMainLooper;
+    }
+
+    public static MessageQueue myQueue() {
+        return sMainLooper.mMessageQueue;
+    }
+
+    void enqueue(Runnable r) {
+        mQueue.offer(r);
+    }
+
+    void remove(Runnable r) {
+        mQueue.remove(r);
+    }
+
+    /**
+     * Runs the queued runnables and then the idle handlers. Does not exist on Android.
+     */
+    public void drain() {
+        Runnable r;
+        while ((r = mQueue.poll()) != null) {
+            r.run();
+        }
+        mMessageQueue.idle();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.os;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for the Android class of the same name, only idle handlers.
+ */
+public final class MessageQueue {
+    private final List<IdleHandler> mIdleHandlers = new ArrayList<IdleHandler>();
+
+    public interface IdleHandler {
+        boolean queueIdle();
+    }
+
+    public void addIdleHandler(IdleHandler handler) {
+        mIdleHandlers.add(handler);
+    }
+
+    public void removeIdleHandler(IdleHandler handler) {
+        mIdleHandlers.remove(handler);
+    }
+
+    void idle() {
+        for (int i = mIdleHandlers.size() - 1; i >= 0; i--) {
+            if (!mIdleHandlers.get(i).queueIdle()) {
+                mIdleHandlers.remove(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+import android.content.Context;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JVM stand-in for the Android class of the same name. Layouts are built in code by a
+ * {@link LayoutBuilder} registered through {@link #register(int, LayoutBuilder)}, neither of
+ * which exist on Android.
+ */
+public class LayoutInflater {
+    private static final Map<Integer, LayoutBuilder> sLayouts =
+            new HashMap<Integer, LayoutBuilder>();
+
+    private final Context mContext;
+
+    public interface LayoutBuilder {
+        View build(Context context);
+    }
+
+    protected LayoutInflater(Context context) {
+        mContext = context;
+    }
+
+    public static synchronized void register(int resource, LayoutBuilder builder) {
+        sLayouts.put(resource, builder);
+    }
+
+    private static synchronized LayoutBuilder builderFor(int resource) {
+        LayoutBuilder builder = sLayouts.get(resource);
+        if (builder == null) {
+            throw new IllegalArgumentException("No layout registered for " + resource);
+        }
+        return builder;
+    }
+
+    public static LayoutInflater from(Context context) {
+        return new LayoutInflater(context);
+    }
+
+    public LayoutInflater cloneInContext(Context newContext) {
+        return new LayoutInflater(newContext);
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    public View inflate(int resource, ViewGroup root) {
+        return inflate(resource, root, root != null);
+    }
+
+    public View inflate(int resource, ViewGroup root, boolean attachToRoot) {
+        View view = builderFor(resource).build(mContext);
+        if (root != null && attachToRoot) {
+            root.addView(view);
+            return root;
+        }
+        return view;
+    }
+}
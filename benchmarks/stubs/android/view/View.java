@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+import android.content.Context;
+import android.util.SparseArray;
+
+/**
+ * JVM stand-in for the Android class of the same name: an id, tags and a parent.
+ */
+public class View {
+    public static final int NO_ID = -1;
+
+    private final Context mContext;
+    private int mId = NO_ID;
+    private Object mTag;
+    private SparseArray<Object> mKeyedTags;
+    private ViewGroup.LayoutParams mLayoutParams;
+    private int mWidth;
+    private int mHeight;
+    ViewParent mParent;
+
+    public View(Context context) {
+        mContext = context;
+    }
+
+    public static View inflate(Context context, int resource, ViewGroup root) {
+        return LayoutInflater.from(context).inflate(resource, root, root != null);
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    public int getId() {
+        return mId;
+    }
+
+    public void setId(int id) {
+        mId = id;
+    }
+
+    public Object getTag() {
+        return mTag;
+    }
+
+    public void setTag(Object tag) {
+        mTag = tag;
+    }
+
+    public Object getTag(int key) {
+        return mKeyedTags != null ? mKeyedTags.get(key) : null;
+    }
+
+    public void setTag(int key, Object tag) {
+        if (mKeyedTags == null) {
+            mKeyedTags = new SparseArray<Object>(2);
+        }
+        mKeyedTags.put(key, tag);
+    }
+
+    public final ViewParent getParent() {
+        return mParent;
+    }
+
+    public final View findViewById(int id) {
+        return id == NO_ID ? null : findViewTraversal(id);
+    }
+
+    View findViewTraversal(int id) {
+        return id == mId ? this : null;
+    }
+
+    public void setVisibility(int visibility) {
+    }
+
+    public ViewGroup.LayoutParams getLayoutParams() {
+        return mLayoutParams;
+    }
+
+    public void setLayoutParams(ViewGroup.LayoutParams params) {
+        mLayoutParams = params;
+    }
+
+    public final int getWidth() {
+        return mWidth;
+    }
+
+    public final int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * Stands in for a layout pass. Does not exist on Android.
+     */
+    public void layout(int width, int height) {
+        mWidth = width;
+        mHeight = height;
+    }
+}
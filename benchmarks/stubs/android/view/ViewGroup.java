@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.view;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for the Android class of the same name, a list of children.
+ */
+public class ViewGroup extends View implements ViewParent {
+    private final List<View> mChildren = new ArrayList<View>();
+
+    public static class LayoutParams {
+        public static final int MATCH_PARENT = -1;
+        public static final int WRAP_CONTENT = -2;
+
+        public int width;
+        public int height;
+
+        public LayoutParams(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    public ViewGroup(Context context) {
+        super(context);
+    }
+
+    public void addView(View child) {
+        addViewInLayout(child);
+    }
+
+    public void removeView(View view) {
+        removeViewInLayout(view);
+    }
+
+    protected boolean addViewInLayout(View child) {
+        if (child.mParent != null) {
+            throw new IllegalStateException("The specified child already has a parent.");
+        }
+        mChildren.add(child);
+        child.mParent = this;
+        return true;
+    }
+
+    public void removeViewInLayout(View view) {
+        if (mChildren.remove(view)) {
+            view.mParent = null;
+        }
+    }
+
+    public int getChildCount() {
+        return mChildren.size();
+    }
+
+    public View getChildAt(int index) {
+        return mChildren.get(index);
+    }
+
+    @Override
+    View findViewTraversal(int id) {
+        if (id == getId()) {
+            return this;
+        }
+        for (int i = 0, n = mChildren.size(); i < n; i++) {
+            View view = mChildren.get(i).findViewTraversal(id);
+            if (view != null) {
+                return view;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+
+import java.util.List;
+
+/**
+ * JVM stand-in for the Android class of the same name, children are the active rows and there
+ * is no scrap heap.
+ */
+public abstract class AbsListView extends AdapterView<ListAdapter> {
+    protected ListAdapter mAdapter;
+
+    public AbsListView(Context context) {
+        super(context);
+    }
+
+    @Override
+    public ListAdapter getAdapter() {
+        return mAdapter;
+    }
+
+    public void reclaimViews(List<View> views) {
+        for (int i = 0, n = getChildCount(); i < n; i++) {
+            views.add(getChildAt(i));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JVM stand-in for the Android class of the same name, without filtering and without the
+ * default TextView rows.
+ */
+public class ArrayAdapter<T> extends BaseAdapter {
+    private final Context mContext;
+    private final List<T> mObjects;
+    private boolean mNotifyOnChange = true;
+
+    public ArrayAdapter(Context context, int resource) {
+        this(context, resource, new ArrayList<T>());
+    }
+
+    public ArrayAdapter(Context context, int resource, List<T> objects) {
+        mContext = context;
+        mObjects = objects;
+    }
+
+    public void add(T object) {
+        mObjects.add(object);
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    public void addAll(Collection<? extends T> collection) {
+        mObjects.addAll(collection);
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    public void insert(T object, int index) {
+        mObjects.add(index, object);
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    public void remove(T object) {
+        mObjects.remove(object);
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    public void clear() {
+        mObjects.clear();
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    public void sort(Comparator<? super T> comparator) {
+        Collections.sort(mObjects, comparator);
+        if (mNotifyOnChange) notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        super.notifyDataSetChanged();
+        mNotifyOnChange = true;
+    }
+
+    public void setNotifyOnChange(boolean notifyOnChange) {
+        mNotifyOnChange = notifyOnChange;
+    }
+
+    public Context getContext() {
+        return mContext;
+    }
+
+    @Override
+    public int getCount() {
+        return mObjects.size();
+    }
+
+    @Override
+    public T getItem(int position) {
+        return mObjects.get(position);
+    }
+
+    public int getPosition(T item) {
+        return mObjects.indexOf(item);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        throw new UnsupportedOperationException("Default rows are not supported.");
+    }
+}
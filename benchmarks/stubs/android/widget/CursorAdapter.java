@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.widget;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * JVM stand-in for the Android class of the same name, without content observers.
+ */
+public abstract class CursorAdapter extends BaseAdapter {
+    public static final int FLAG_AUTO_REQUERY = 0x01;
+    public static final int FLAG_REGISTER_CONTENT_OBSERVER = 0x02;
+
+    protected boolean mDataValid;
+    protected Cursor mCursor;
+    protected Context mContext;
+    protected int mRowIDColumn;
+
+    public CursorAdapter(Context context, Cursor c, boolean autoRequery) {
+        this(context, c, autoRequery ? FLAG_AUTO_REQUERY : FLAG_REGISTER_CONTENT_OBSERVER);
+    }
+
+    public CursorAdapter(Context context, Cursor c, int flags) {
+        mContext = context;
+        mCursor = c;
+        mDataValid = c != null;
+        mRowIDColumn = mDataValid ? c.getColumnIndexOrThrow("_id") : -1;
+    }
+
+    public Cursor getCursor() {
+        return mCursor;
+    }
+
+    @Override
+    public int getCount() {
+        return mDataValid && mCursor != null ? mCursor.getCount() : 0;
+    }
+
+    @Override
+    public Object getItem(int position) {
+        if (mDataValid && mCursor != null) {
+            mCursor.moveToPosition(position);
+            return mCursor;
+        }
+        return null;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        if (mDataValid && mCursor != null && mCursor.moveToPosition(position)) {
+            return mCursor.getLong(mRowIDColumn);
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public View getView(int position, View convertView, ViewGroup parent) {
+        if (!mDataValid) {
+            throw new IllegalStateException("this should only be called when the cursor is valid");
+        }
+        if (!mCursor.moveToPosition(position)) {
+            throw new IllegalStateException("couldn't move cursor to position " + position);
+        }
+        View v = convertView != null ? convertView : newView(mContext, mCursor, parent);
+        bindView(v, mContext, mCursor);
+        return v;
+    }
+
+    public abstract View newView(Context context, Cursor cursor, ViewGroup parent);
+
+    public abstract void bindView(View view, Context context, Cursor cursor);
+
+    public void changeCursor(Cursor cursor) {
+        Cursor old = swapCursor(cursor);
+        if (old != null) {
+            old.close();
+        }
+    }
+
+    public Cursor swapCursor(Cursor newCursor) {
+        if (newCursor == mCursor) {
+            return null;
+        }
+        Cursor oldCursor = mCursor;
+        mCursor = newCursor;
+        if (newCursor != null) {
+            mRowIDColumn = newCursor.getColumnIndexOrThrow("_id");
+            mDataValid = true;
+            notifyDataSetChanged();
+        } else {
+            mRowIDColumn = -1;
+            mDataValid = false;
+            notifyDataSetInvalidated();
+        }
+        return oldCursor;
+    }
+
+    protected void onContentChanged() {
+    }
+}
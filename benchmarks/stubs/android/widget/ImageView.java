@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.widget;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.drawable.Drawable;
+import android.view.View;
+
+/**
+ * JVM stand-in for the Android class of the same name.
+ */
+public class ImageView extends View {
+    private Object mImage;
+
+    public ImageView(Context context) {
+        super(context);
+    }
+
+    public void setImageBitmap(Bitmap bm) {
+        mImage = bm;
+    }
+
+    public void setImageDrawable(Drawable drawable) {
+        mImage = drawable;
+    }
+
+    public void setImageResource(int resId) {
+        mImage = resId;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package android.widget;
+
+import android.content.Context;
+import android.view.View;
+
+/**
+ * JVM stand-in for the Android class of the same name. Like the original, the text set from a
+ * char array is wrapped rather than copied.
+ */
+public class TextView extends View {
+    private CharSequence mText = "";
+
+    public TextView(Context context) {
+        super(context);
+    }
+
+    public final void setText(CharSequence text) {
+        mText = text != null ? text : "";
+    }
+
+    public final void setText(char[] text, int start, int len) {
+        mText = new CharWrapper(text, start, len);
+    }
+
+    public CharSequence getText() {
+        return mText;
+    }
+
+    private static final class CharWrapper implements CharSequence {
+        private final char[] mChars;
+        private final int mStart;
+        private final int mLength;
+
+        CharWrapper(char[] chars, int start, int len) {
+            mChars = chars;
+            mStart = start;
+            mLength = len;
+        }
+
+        @Override
+        public int length() {
+            return mLength;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return mChars[mStart + index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(mChars, mStart + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(mChars, mStart, mLength);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.os.Process;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the default {@link ExecutorService} used by the adapters for work that is moved off the
+ * main thread when the caller does not supply an executor of its own. Threads are daemons and
+ * run with background priority.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class BackgroundExecutor {
+
+    // Constants
+    private static final int N_THREADS = Math.max(2,
+            Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    // Attributes
+    private static ExecutorService sExecutor;
+
+    private BackgroundExecutor() {
+        // No instances
+    }
+
+    static synchronized ExecutorService get() {
+        if (sExecutor == null) {
+            sExecutor = Executors.newFixedThreadPool(N_THREADS, new ThreadFactory() {
+                private final AtomicInteger mCount = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(new Runnable() {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }
+                    }, "AdapterKit #" + mCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return sExecutor;
+    }
+
+}
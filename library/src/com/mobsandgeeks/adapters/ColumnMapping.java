@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import android.database.Cursor;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link InstantColumn} annotated members of a model, scanned once per model and shared
+ * process-wide. Column indices are resolved separately for each {@link Cursor}, rows are then
+ * read by index. Primitive fields are written without boxing.
+ * <p>
+ * Like {@link InstantMetadataCache}, the mappings are bounded and evict the least recently used
+ * models, they are cleared along with it through {@link InstantMetadataCache#clear()}.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class ColumnMapping {
+
+    // Column types
+    private static final int TYPE_LONG = 0;
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_SHORT = 2;
+    private static final int TYPE_DOUBLE = 3;
+    private static final int TYPE_FLOAT = 4;
+    private static final int TYPE_BOOLEAN = 5;
+    private static final int TYPE_STRING = 6;
+    private static final int TYPE_BLOB = 7;
+
+    // Constants
+    private static final int MAX_SIZE = 32;
+
+    // Attributes
+    private static final LinkedHashMap<Class<?>, ColumnMapping> sMappings =
+            new LinkedHashMap<Class<?>, ColumnMapping>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<Class<?>, ColumnMapping> eldest) {
+                    return size() > MAX_SIZE;
+                }
+            };
+    private final Class<?> mDataType;
+    private final Column[] mColumns;
+
+    private ColumnMapping(final Class<?> dataType, final Column[] columns) {
+        mDataType = dataType;
+        mColumns = columns;
+    }
+
+    /**
+     * Returns the mapping of the given model, scanning it the first time.
+     *
+     * @throws IllegalStateException If an annotated member is not supported.
+     */
+    static synchronized ColumnMapping get(final Class<?> dataType) {
+        ColumnMapping mapping = sMappings.get(dataType);
+        if (mapping == null) {
+            mapping = new ColumnMapping(dataType, findColumns(dataType));
+            sMappings.put(dataType, mapping);
+        }
+        return mapping;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    static synchronized void clear() {
+        sMappings.clear();
+    }
+
+    /**
+     * Looks up the index of every mapped column in the given {@link Cursor}.
+     *
+     * @throws IllegalStateException If a column is missing.
+     */
+    int[] resolve(final Cursor cursor) {
+        int[] indices = new int[mColumns.length];
+        for (int i = 0; i < mColumns.length; i++) {
+            indices[i] = cursor.getColumnIndex(mColumns[i].name);
+            if (indices[i] == -1) {
+                throw new IllegalStateException(String.format("Cannot find column '%s' for " +
+                        "%s.%s", mColumns[i].name, mDataType.getSimpleName(),
+                            mColumns[i].member));
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Populates an instance from the {@link Cursor}'s current row.
+     *
+     * @param cursor The {@link Cursor}, positioned on the row to read.
+     * @param indices Column indices returned by {@link #resolve(Cursor)} for this cursor.
+     * @param instance The instance to populate.
+     */
+    void read(final Cursor cursor, final int[] indices, final Object instance) {
+        try {
+            for (int i = 0; i < mColumns.length; i++) {
+                Column column = mColumns[i];
+                int index = indices[i];
+
+                if (column.field != null && column.isPrimitive) {
+                    readPrimitive(cursor, index, column, instance);
+                    continue;
+                }
+
+                Object value = column.isPrimitive || !cursor.isNull(index) ?
+                        readValue(cursor, index, column.type) : null;
+                if (column.field != null) {
+                    column.field.set(instance, value);
+                } else {
+                    column.setter.invoke(instance, value);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void readPrimitive(final Cursor cursor, final int index, final Column column,
+            final Object instance) throws IllegalAccessException {
+        Field field = column.field;
+        switch (column.type) {
+        case TYPE_LONG:     field.setLong(instance, cursor.getLong(index)); break;
+        case TYPE_INT:      field.setInt(instance, cursor.getInt(index)); break;
+        case TYPE_SHORT:    field.setShort(instance, cursor.getShort(index)); break;
+        case TYPE_DOUBLE:   field.setDouble(instance, cursor.getDouble(index)); break;
+        case TYPE_FLOAT:    field.setFloat(instance, cursor.getFloat(index)); break;
+        case TYPE_BOOLEAN:  field.setBoolean(instance, cursor.getInt(index) != 0); break;
+        default:
+            throw new IllegalStateException("Not a primitive type: " + column.type);
+        }
+    }
+
+    private static Object readValue(final Cursor cursor, final int index, final int type) {
+        switch (type) {
+        case TYPE_LONG:     return cursor.getLong(index);
+        case TYPE_INT:      return cursor.getInt(index);
+        case TYPE_SHORT:    return cursor.getShort(index);
+        case TYPE_DOUBLE:   return cursor.getDouble(index);
+        case TYPE_FLOAT:    return cursor.getFloat(index);
+        case TYPE_BOOLEAN:  return cursor.getInt(index) != 0;
+        case TYPE_STRING:   return cursor.getString(index);
+        default:            return cursor.getBlob(index);
+        }
+    }
+
+    private static Column[] findColumns(final Class<?> dataType) {
+        List<Column> columns = new ArrayList<Column>();
+
+        Class<?> clazz = dataType;
+        do {
+            for (Field field : clazz.getDeclaredFields()) {
+                InstantColumn instantColumn = field.getAnnotation(InstantColumn.class);
+                if (instantColumn == null) {
+                    continue;
+                }
+                if (!Modifier.isPublic(field.getModifiers())
+                        || Modifier.isFinal(field.getModifiers())) {
+                    throw new IllegalStateException(String.format(
+                            "%s.%s should be public and not final",
+                                dataType.getSimpleName(), field.getName()));
+                }
+
+                field.setAccessible(true);
+                columns.add(new Column(instantColumn.value(), field.getName(),
+                        typeOf(dataType, field.getName(), field.getType()),
+                        field.getType().isPrimitive(), field, null));
+            }
+
+            for (Method method : clazz.getDeclaredMethods()) {
+                InstantColumn instantColumn = method.getAnnotation(InstantColumn.class);
+                if (instantColumn == null) {
+                    continue;
+                }
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                if (!Modifier.isPublic(method.getModifiers()) || parameterTypes.length != 1) {
+                    throw new IllegalStateException(String.format(
+                            "%s.%s() should be public and have a single parameter",
+                                dataType.getSimpleName(), method.getName()));
+                }
+
+                method.setAccessible(true);
+                columns.add(new Column(instantColumn.value(), method.getName() + "()",
+                        typeOf(dataType, method.getName() + "()", parameterTypes[0]),
+                        parameterTypes[0].isPrimitive(), null, method));
+            }
+
+            clazz = clazz.getSuperclass();
+        } while (clazz != null && !clazz.equals(Object.class));
+
+        return columns.toArray(new Column[columns.size()]);
+    }
+
+    private static int typeOf(final Class<?> dataType, final String member,
+            final Class<?> type) {
+        if (type == Long.TYPE || type == Long.class) {
+            return TYPE_LONG;
+        } else if (type == Integer.TYPE || type == Integer.class) {
+            return TYPE_INT;
+        } else if (type == Short.TYPE || type == Short.class) {
+            return TYPE_SHORT;
+        } else if (type == Double.TYPE || type == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (type == Float.TYPE || type == Float.class) {
+            return TYPE_FLOAT;
+        } else if (type == Boolean.TYPE || type == Boolean.class) {
+            return TYPE_BOOLEAN;
+        } else if (type == String.class) {
+            return TYPE_STRING;
+        } else if (type == byte[].class) {
+            return TYPE_BLOB;
+        }
+
+        throw new IllegalStateException(String.format("%s.%s cannot be read from a Cursor, " +
+                "found %s", dataType.getSimpleName(), member, type.getName()));
+    }
+
+    /**
+     * A mapped column and the member it is read into.
+     */
+    private static final class Column {
+        final String name;
+        final String member;
+        final int type;
+        final boolean isPrimitive;
+        final Field field;
+        final Method setter;
+
+        Column(final String name, final String member, final int type,
+                final boolean isPrimitive, final Field field, final Method setter) {
+            this.name = name;
+            this.member = member;
+            this.type = type;
+            this.isPrimitive = isPrimitive;
+            this.field = field;
+            this.setter = setter;
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.text.Html;
+import android.text.Spanned;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used cache of {@link Spanned}s rendered by {@link Html#fromHtml(String)}, keyed
+ * by the View id and the HTML source. The size of the cache is measured in characters (source
+ * and rendered text combined). Thread-safe, so HTML can be rendered ahead of time on a background
+ * thread.
+ * <p>
+ * Sharing the rendered {@link Spanned}s between TextViews is safe, {@link android.widget.TextView}
+ * copies the text it is given.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class HtmlCache {
+
+    // Constants
+    static final int DEFAULT_MAX_SIZE = 64 * 1024;
+
+    // Attributes
+    private final LinkedHashMap<Key, Spanned> mCache;
+    private final Key mLookupKey;
+    private int mMaxSize;
+    private int mSize;
+
+    // Statistics
+    private long mHitCount;
+    private long mMissCount;
+
+    HtmlCache() {
+        mCache = new LinkedHashMap<Key, Spanned>(32, 0.75f, true);
+        mLookupKey = new Key();
+        mMaxSize = DEFAULT_MAX_SIZE;
+    }
+
+    /**
+     * Returns the rendered HTML from the cache, rendering and caching it on a miss.
+     *
+     * @param viewId Id of the View the HTML is rendered for.
+     * @param source The HTML source.
+     *
+     * @return The rendered {@link Spanned}.
+     */
+    Spanned render(final int viewId, final String source) {
+        Spanned spanned = get(viewId, source);
+        if (spanned == null) {
+            spanned = Html.fromHtml(source);
+            put(viewId, source, spanned);
+        }
+        return spanned;
+    }
+
+    synchronized Spanned get(final int viewId, final String source) {
+        mLookupKey.viewId = viewId;
+        mLookupKey.source = source;
+        Spanned spanned = mCache.get(mLookupKey);
+        mLookupKey.source = null;
+
+        if (spanned != null) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+        return spanned;
+    }
+
+    synchronized void put(final int viewId, final String source, final Spanned spanned) {
+        Key key = new Key();
+        key.viewId = viewId;
+        key.source = source;
+
+        Spanned previous = mCache.put(key, spanned);
+        if (previous != null) {
+            mSize -= sizeOf(source, previous);
+        }
+        mSize += sizeOf(source, spanned);
+        trimToSize(mMaxSize);
+    }
+
+    synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' cannot be negative.");
+        }
+        mMaxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    synchronized void clear() {
+        mCache.clear();
+        mSize = 0;
+    }
+
+    synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    private void trimToSize(final int maxSize) {
+        Iterator<Map.Entry<Key, Spanned>> iterator = mCache.entrySet().iterator();
+        while (mSize > maxSize && iterator.hasNext()) {
+            Map.Entry<Key, Spanned> eldest = iterator.next();
+            mSize -= sizeOf(eldest.getKey().source, eldest.getValue());
+            iterator.remove();
+        }
+    }
+
+    private static int sizeOf(final String source, final Spanned spanned) {
+        return source.length() + spanned.length();
+    }
+
+    /**
+     * A View id and the HTML source rendered for it.
+     */
+    private static final class Key {
+        int viewId;
+        String source;
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return viewId == key.viewId && source.equals(key.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * viewId + source.hashCode();
+        }
+    }
+
+}
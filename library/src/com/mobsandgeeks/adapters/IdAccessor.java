@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reads the {@link InstantId} of a model instance. Fields and generated binders are read as a
+ * primitive {@code long}, methods called through reflection box their result. Accessors are
+ * stateless and can be shared between adapters and threads.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+abstract class IdAccessor {
+
+    // Constants
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Returns the id of the given instance.
+     *
+     * @param instance The model instance.
+     *
+     * @return The instance's id.
+     *
+     * @throws IllegalStateException If the id could not be read.
+     */
+    abstract long getId(Object instance);
+
+    static IdAccessor forMethod(final Method method) {
+        method.setAccessible(true);
+        return new MethodIdAccessor(method);
+    }
+
+    static IdAccessor forField(final Field field) {
+        field.setAccessible(true);
+        return new FieldIdAccessor(field);
+    }
+
+    static IdAccessor forBinder(final InstantIdBinder<?> binder) {
+        return new BinderIdAccessor(binder);
+    }
+
+    private static IllegalStateException cannotRead(final String member, final Exception e) {
+        return new IllegalStateException("Cannot read the id from " + member, e);
+    }
+
+    private static class MethodIdAccessor extends IdAccessor {
+        private final Method mMethod;
+
+        MethodIdAccessor(final Method method) {
+            mMethod = method;
+        }
+
+        @Override
+        long getId(final Object instance) {
+            try {
+                return (Long) mMethod.invoke(instance, NO_ARGS);
+            } catch (IllegalAccessException e) {
+                throw cannotRead(mMethod.getName() + "()", e);
+            } catch (InvocationTargetException e) {
+                throw cannotRead(mMethod.getName() + "()", e);
+            }
+        }
+    }
+
+    private static class FieldIdAccessor extends IdAccessor {
+        private final Field mField;
+
+        FieldIdAccessor(final Field field) {
+            mField = field;
+        }
+
+        @Override
+        long getId(final Object instance) {
+            try {
+                return mField.getLong(instance);
+            } catch (IllegalAccessException e) {
+                throw cannotRead(mField.getName(), e);
+            }
+        }
+    }
+
+    private static class BinderIdAccessor extends IdAccessor {
+        private final InstantIdBinder<Object> mBinder;
+
+        @SuppressWarnings("unchecked")
+        BinderIdAccessor(final InstantIdBinder<?> binder) {
+            mBinder = (InstantIdBinder<Object>) binder;
+        }
+
+        @Override
+        long getId(final Object instance) {
+            return mBinder.getId(instance);
+        }
+    }
+
+}
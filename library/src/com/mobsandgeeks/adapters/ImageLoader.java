@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the images of {@link InstantImage} members into {@link ImageView}s. Images are looked up
+ * in the {@link InstantImageCache} on the main thread and decoded on the
+ * {@link BackgroundExecutor} on a miss, downsampled to the size of the {@link ImageView}. A load
+ * that is still pending when its {@link ImageView} is bound again is cancelled and its result is
+ * discarded.
+ * <p>
+ * All methods must be called from the main thread.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class ImageLoader {
+
+    // Constants
+    private static final boolean CAN_REUSE_BITMAPS =
+            Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB;
+
+    // Attributes
+    private final Context mContext;
+    private final Handler mHandler;
+    private final ExecutorService mExecutor;
+
+    ImageLoader(final Context context) {
+        mContext = context;
+        mHandler = new Handler(Looper.getMainLooper());
+        mExecutor = BackgroundExecutor.get();
+    }
+
+    /**
+     * Shows the image from the given source, or the placeholder while it is being decoded.
+     *
+     * @param target The {@link Target} wrapping the {@link ImageView}.
+     * @param source A path, {@link File}, drawable resource id or encoded image, {@code null}
+     *          to show the placeholder.
+     * @param placeholderResId Drawable shown until the image is ready, {@code 0} for none.
+     */
+    void load(final Target target, final Object source, final int placeholderResId) {
+        cancel(target);
+        if (source == null) {
+            showPlaceholder(target, placeholderResId);
+            return;
+        }
+        assertSupportedSource(source);
+
+        ImageView imageView = target.imageView;
+        DisplayMetrics displayMetrics = mContext.getResources().getDisplayMetrics();
+        int width = targetSize(imageView.getWidth(), imageView.getLayoutParams(), true,
+                displayMetrics.widthPixels);
+        int height = targetSize(imageView.getHeight(), imageView.getLayoutParams(), false,
+                displayMetrics.heightPixels);
+
+        InstantImageCache.Entry entry = InstantImageCache.getAndRetain(source, width, height);
+        if (entry != null) {
+            show(target, entry);
+            return;
+        }
+
+        showPlaceholder(target, placeholderResId);
+        Request request = new Request(target, source, width, height);
+        target.request = request;
+        request.future = mExecutor.submit(request);
+    }
+
+    private void cancel(final Target target) {
+        Request request = target.request;
+        if (request != null) {
+            request.cancelled = true;
+            request.future.cancel(false);
+            target.request = null;
+        }
+    }
+
+    /*
+     * The new bitmap goes on screen before the previous one is released, a released bitmap
+     * can be decoded into right away.
+     */
+    private void show(final Target target, final InstantImageCache.Entry entry) {
+        InstantImageCache.Entry previous = target.entry;
+        target.imageView.setImageBitmap(entry.bitmap);
+        target.entry = entry;
+        if (previous != null) {
+            InstantImageCache.release(previous);
+        }
+    }
+
+    private void showPlaceholder(final Target target, final int placeholderResId) {
+        if (placeholderResId != 0) {
+            target.imageView.setImageResource(placeholderResId);
+        } else {
+            target.imageView.setImageDrawable(null);
+        }
+
+        if (target.entry != null) {
+            InstantImageCache.release(target.entry);
+            target.entry = null;
+        }
+    }
+
+    private static void assertSupportedSource(final Object source) {
+        if (!(source instanceof String || source instanceof File
+                || source instanceof Integer || source instanceof byte[])) {
+            throw new IllegalStateException("@InstantImage members should return a String, " +
+                    "File, Integer or byte[], found " + source.getClass().getName());
+        }
+    }
+
+    private static int targetSize(final int measuredSize, final ViewGroup.LayoutParams params,
+            final boolean isWidth, final int screenSize) {
+        if (measuredSize > 0) {
+            return measuredSize;
+        }
+
+        int size = params == null ? 0 : isWidth ? params.width : params.height;
+        return size > 0 ? size : screenSize;
+    }
+
+    /*
+     * Largest power of two that keeps the decoded image at least as large as the target.
+     */
+    static int calculateSampleSize(final int width, final int height,
+            final int targetWidth, final int targetHeight) {
+        int sampleSize = 1;
+        while (width / (sampleSize * 2) >= targetWidth
+                && height / (sampleSize * 2) >= targetHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private Bitmap decode(final Object source, final int targetWidth, final int targetHeight) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        decode(source, options);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight,
+                targetWidth, targetHeight);
+        options.inJustDecodeBounds = false;
+
+        if (CAN_REUSE_BITMAPS) {
+            options.inMutable = true;
+        }
+
+        // Before KitKat, decoding into a bitmap fails unless the image is decoded at full size
+        int sampleSize = options.inSampleSize;
+        if (CAN_REUSE_BITMAPS
+                && (sampleSize == 1 || InstantImageCache.CAN_REUSE_LARGER_BITMAPS)) {
+            options.inBitmap = InstantImageCache.takeReusableBitmap(
+                    (options.outWidth + sampleSize - 1) / sampleSize,
+                    (options.outHeight + sampleSize - 1) / sampleSize, Bitmap.Config.ARGB_8888);
+        }
+
+        try {
+            return decode(source, options);
+        } catch (IllegalArgumentException e) {
+            // The bitmap could not be reused after all
+            if (CAN_REUSE_BITMAPS && options.inBitmap != null) {
+                InstantImageCache.returnReusableBitmap(options.inBitmap);
+                options.inBitmap = null;
+                return decode(source, options);
+            }
+            throw e;
+        }
+    }
+
+    private Bitmap decode(final Object source, final BitmapFactory.Options options) {
+        if (source instanceof String) {
+            return BitmapFactory.decodeFile((String) source, options);
+        } else if (source instanceof File) {
+            return BitmapFactory.decodeFile(((File) source).getPath(), options);
+        } else if (source instanceof Integer) {
+            return BitmapFactory.decodeResource(mContext.getResources(),
+                    (Integer) source, options);
+        }
+
+        byte[] data = (byte[]) source;
+        return BitmapFactory.decodeByteArray(data, 0, data.length, options);
+    }
+
+    /**
+     * An {@link ImageView} along with its pending load and the cached bitmap it shows.
+     */
+    static final class Target {
+        final ImageView imageView;
+        Request request;
+        InstantImageCache.Entry entry;
+
+        Target(final ImageView imageView) {
+            this.imageView = imageView;
+        }
+    }
+
+    /**
+     * Decodes an image on the executor and hands it over to its {@link Target} on the main
+     * thread, unless the request has been cancelled in the meantime.
+     */
+    private final class Request implements Runnable {
+        final Target target;
+        final Object source;
+        final int width;
+        final int height;
+        Future<?> future;
+        volatile boolean cancelled;
+
+        Request(final Target target, final Object source, final int width, final int height) {
+            this.target = target;
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            Bitmap bitmap = null;
+            try {
+                bitmap = decode(source, width, height);
+            } catch (OutOfMemoryError e) {
+                Log.w(InstantAdapterCore.LOG_TAG, "Out of memory decoding " + source);
+            } catch (RuntimeException e) {
+                Log.w(InstantAdapterCore.LOG_TAG, "Cannot decode " + source, e);
+            }
+            if (bitmap == null) {
+                return;
+            }
+
+            final InstantImageCache.Entry entry =
+                    InstantImageCache.put(source, width, height, bitmap);
+            mHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (!cancelled && target.request == Request.this) {
+                        target.request = null;
+                        show(target, entry);
+                    } else {
+                        InstantImageCache.release(entry);
+                    }
+                }
+            });
+        }
+    }
+
+}
@@ -15,12 +15,19 @@
 package com.mobsandgeeks.adapters;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.Adapter;
 import android.widget.ArrayAdapter;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * Class that constructs a custom {@link Adapter} by mapping <b>Instant*</b> annotated
@@ -36,6 +43,14 @@ public class InstantAdapter<T> extends ArrayAdapter<T> {
     private Context mContext;
     private InstantAdapterCore<T> mInstantAdapterCore;
 
+    // List updates
+    private InstantDiff.ItemCallback<? super T> mItemCallback;
+    private Handler mHandler;
+    private int mSubmitGeneration;
+
+    // Positions by id, built on demand
+    private LongIntMap mIdIndex;
+
     /**
      * Constructs a new {@link InstantAdapter} for your model.
      * 
@@ -76,6 +91,83 @@ public class InstantAdapter<T> extends ArrayAdapter<T> {
         return view;
     }
 
+    /**
+     * Returns the {@link InstantId} of the item at the given position, or the position itself if
+     * your model does not have an {@link InstantId} annotated member.
+     */
+    @Override
+    public long getItemId(final int position) {
+        return mInstantAdapterCore.hasStableIds() ?
+                mInstantAdapterCore.getItemId(getItem(position)) : position;
+    }
+
+    /**
+     * Returns {@code true} if your model has an {@link InstantId} annotated member.
+     */
+    @Override
+    public boolean hasStableIds() {
+        return mInstantAdapterCore.hasStableIds();
+    }
+
+    /**
+     * Returns the position of the given item, looked up by its {@link InstantId} if your model
+     * has one.
+     */
+    @Override
+    public int getPosition(final T item) {
+        if (item != null && mInstantAdapterCore.hasStableIds()) {
+            int position = getPositionForId(mInstantAdapterCore.getItemId(item));
+            if (position != -1 && item.equals(getItem(position))) {
+                return position;
+            }
+        }
+        return super.getPosition(item);
+    }
+
+    /**
+     * Returns the position of the item with the given {@link InstantId}. Positions are indexed
+     * the first time this method is called after the data set has changed, subsequent lookups
+     * take constant time.
+     *
+     * @param id The id of the item.
+     *
+     * @return The position of the first item with the given id, {@code -1} if there is none.
+     *
+     * @throws IllegalStateException If your model has no {@link InstantId} annotated member.
+     */
+    public int getPositionForId(final long id) {
+        if (!mInstantAdapterCore.hasStableIds()) {
+            throw new IllegalStateException("Annotate a member of your model with @InstantId.");
+        }
+        if (mIdIndex == null) {
+            mIdIndex = indexIds(getItems());
+        }
+        return mIdIndex.get(id, -1);
+    }
+
+    /*
+     * The items shown, which are not the list passed to the constructor once a filter is applied.
+     */
+    private List<T> getItems() {
+        int count = getCount();
+        List<T> items = new ArrayList<T>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(getItem(i));
+        }
+        return items;
+    }
+
+    private LongIntMap indexIds(final List<T> list) {
+        int size = list.size();
+        LongIntMap idIndex = new LongIntMap(size);
+
+        // Backwards, so that the first of several items with the same id wins
+        for (int i = size - 1; i >= 0; i--) {
+            idIndex.put(mInstantAdapterCore.getItemId(list.get(i)), i);
+        }
+        return idIndex;
+    }
+
     /**
      * Sets a {@link ViewHandler} for a View with the given id.
      * 
@@ -86,4 +178,360 @@ public class InstantAdapter<T> extends ArrayAdapter<T> {
         mInstantAdapterCore.setViewHandler(viewId, viewHandler);
     }
 
+    /**
+     * Skips binding the annotated views of a row when it is bound again to the very same
+     * instance. Enable this only if your instances are not modified once they are added to the
+     * adapter.
+     *
+     * @param skip {@code true} to skip rebinding the same instance, {@code false} otherwise.
+     */
+    public void setSkipRebindingSameInstance(final boolean skip) {
+        mInstantAdapterCore.setSkipRebindingSameInstance(skip);
+    }
+
+    /**
+     * Returns the number of rows that were not bound because they were already bound to the
+     * same instance.
+     *
+     * @return Number of skipped row binds.
+     */
+    public long getSkippedRowBindCount() {
+        return mInstantAdapterCore.getSkippedRowBindCount();
+    }
+
+    /**
+     * Returns the number of annotated views that were not updated because the value they display
+     * did not change.
+     *
+     * @return Number of skipped view updates.
+     */
+    public long getSkippedViewUpdateCount() {
+        return mInstantAdapterCore.getSkippedViewUpdateCount();
+    }
+
+    /**
+     * Sets the size of the cache that holds HTML rendered for {@code isHtml} bindings, measured
+     * in characters.
+     *
+     * @param maxSize Maximum size of the cache, {@code 0} disables caching.
+     */
+    public void setHtmlCacheSize(final int maxSize) {
+        mInstantAdapterCore.setHtmlCacheSize(maxSize);
+    }
+
+    /**
+     * Returns the number of times rendered HTML was found in the cache.
+     *
+     * @return Number of HTML cache hits.
+     */
+    public long getHtmlCacheHitCount() {
+        return mInstantAdapterCore.getHtmlCacheHitCount();
+    }
+
+    /**
+     * Returns the number of times HTML had to be rendered because it was not in the cache.
+     *
+     * @return Number of HTML cache misses.
+     */
+    public long getHtmlCacheMissCount() {
+        return mInstantAdapterCore.getHtmlCacheMissCount();
+    }
+
+    /**
+     * Renders the HTML for the {@code isHtml} bindings of all items in the adapter on a
+     * background thread, so that it is ready by the time the rows are shown.
+     */
+    public void prerenderHtml() {
+        prerenderHtml(BackgroundExecutor.get());
+    }
+
+    /**
+     * Renders the HTML for the {@code isHtml} bindings of all items in the adapter on the given
+     * {@link Executor}, so that it is ready by the time the rows are shown.
+     *
+     * @param executor The {@link Executor} to render on.
+     */
+    public void prerenderHtml(final Executor executor) {
+        int count = getCount();
+        List<T> instances = new ArrayList<T>(count);
+        for (int i = 0; i < count; i++) {
+            instances.add(getItem(i));
+        }
+        mInstantAdapterCore.prerenderHtml(instances, executor);
+    }
+
+    /**
+     * Enables asynchronous pre-binding on a shared background thread. The display values of the
+     * rows around the one being bound are computed ahead of time, so that binding a row on the
+     * main thread only has to assign them. Your model's annotated members will be called from a
+     * background thread.
+     *
+     * @param window Number of positions to pre-bind on either side of the row being bound,
+     *          {@code 0} disables pre-binding.
+     */
+    public void setAsyncPrebinding(final int window) {
+        setAsyncPrebinding(window, BackgroundExecutor.get());
+    }
+
+    /**
+     * Enables asynchronous pre-binding on the given {@link Executor}.
+     *
+     * @param window Number of positions to pre-bind on either side of the row being bound,
+     *          {@code 0} disables pre-binding.
+     * @param executor The {@link Executor} to compute the display values on.
+     *
+     * @see #setAsyncPrebinding(int)
+     */
+    public void setAsyncPrebinding(final int window, final Executor executor) {
+        mInstantAdapterCore.setAsyncPrebinding(window, executor);
+    }
+
+    /**
+     * Returns the number of rows that were bound using values computed ahead of time.
+     *
+     * @return Number of pre-bind hits.
+     */
+    public long getPrebindHitCount() {
+        return mInstantAdapterCore.getPrebindHitCount();
+    }
+
+    /**
+     * Returns the number of rows that had to be bound synchronously while pre-binding was
+     * enabled.
+     *
+     * @return Number of pre-bind misses.
+     */
+    public long getPrebindMissCount() {
+        return mInstantAdapterCore.getPrebindMissCount();
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        mInstantAdapterCore.invalidatePrebound();
+        mInstantAdapterCore.setUnchangedInstances(null);
+        mIdIndex = null;
+        super.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyDataSetInvalidated() {
+        mInstantAdapterCore.invalidatePrebound();
+        mInstantAdapterCore.setUnchangedInstances(null);
+        mIdIndex = null;
+        super.notifyDataSetInvalidated();
+    }
+
+    /**
+     * Sets the {@link InstantDiff.ItemCallback} that compares items in
+     * {@link #submitList(List)}. By default, items are the same if they have the same
+     * {@link InstantId} (or are equal if your model has none) and their contents are the same if
+     * they are equal.
+     *
+     * @param itemCallback The {@link InstantDiff.ItemCallback}.
+     */
+    public void setItemCallback(final InstantDiff.ItemCallback<? super T> itemCallback) {
+        if (itemCallback == null) {
+            throw new IllegalArgumentException("'itemCallback' cannot be null.");
+        }
+        mItemCallback = itemCallback;
+    }
+
+    /**
+     * Replaces the items in the adapter with the given ones. The difference between both lists
+     * is computed on a background thread and applied on the main thread, rows showing items
+     * whose contents did not change are not bound again. Only the last list submitted is
+     * applied if lists are submitted faster than they can be compared.
+     * <p>
+     * The list is copied, so it may be modified afterwards and may even be the list passed to
+     * the constructor. The items it contains may not be modified, submit new instances instead.
+     * The items are applied through {@link #clear()} and {@link #add(Object)}, so the list
+     * passed to the constructor must be modifiable. Must be called from the main thread.
+     * </p>
+     *
+     * @param list The new items.
+     */
+    public void submitList(final List<T> list) {
+        submitList(list, BackgroundExecutor.get());
+    }
+
+    /**
+     * Replaces the items in the adapter with the given ones, comparing the lists on the given
+     * {@link Executor}.
+     *
+     * @param list The new items.
+     * @param executor The {@link Executor} to compare the lists on.
+     *
+     * @see #submitList(List)
+     */
+    @SuppressWarnings("unchecked")
+    public void submitList(final List<T> list, final Executor executor) {
+        if (list == null) {
+            throw new IllegalArgumentException("'list' cannot be null.");
+        } else if (executor == null) {
+            throw new IllegalArgumentException("'executor' cannot be null.");
+        }
+
+        final int generation = ++mSubmitGeneration;
+        final List<T> newList = new ArrayList<T>(list);
+        final List<T> previousList = getItems();
+        if (previousList.isEmpty() || newList.isEmpty()) {
+            applyList(newList, null, null, null);
+            return;
+        }
+
+        if (mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+        }
+        final boolean hasStableIds = mInstantAdapterCore.hasStableIds();
+        final InstantDiff.ItemCallback<? super T> itemCallback = mItemCallback != null
+                ? mItemCallback : hasStableIds ? new IdItemCallback() : InstantDiff.EQUALS;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final InstantDiff.Result result = InstantDiff.calculate(previousList, newList,
+                        itemCallback);
+                final LongIntMap idIndex = hasStableIds ? indexIds(newList) : null;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == mSubmitGeneration) {
+                            applyList(newList, previousList, result, idIndex);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private void applyList(final List<T> list, final List<T> previousList,
+            final InstantDiff.Result result, final LongIntMap idIndex) {
+        Map<T, T> unchangedInstances = null;
+        if (result != null) {
+            unchangedInstances = new IdentityHashMap<T, T>();
+            for (int i = 0, n = list.size(); i < n; i++) {
+                if (!result.isChanged(i)) {
+                    unchangedInstances.put(list.get(i),
+                            previousList.get(result.getOldPosition(i)));
+                }
+            }
+        }
+
+        // ArrayAdapter.addAll() requires API 11
+        setNotifyOnChange(false);
+        clear();
+        for (int i = 0, n = list.size(); i < n; i++) {
+            add(list.get(i));
+        }
+
+        mInstantAdapterCore.invalidatePrebound();
+        mInstantAdapterCore.setUnchangedInstances(unchangedInstances);
+        mIdIndex = idIndex != null && isShowing(list) ? idIndex : null;
+        super.notifyDataSetChanged();
+    }
+
+    /*
+     * An active filter keeps showing its results, which the submitted list was not indexed for.
+     */
+    private boolean isShowing(final List<T> list) {
+        int count = getCount();
+        if (count != list.size()) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (getItem(i) != list.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Items are the same if they have the same {@link InstantId}, their contents are the same if
+     * they are equal.
+     */
+    private class IdItemCallback implements InstantDiff.ItemCallback<T> {
+
+        @Override
+        public boolean areItemsTheSame(final T oldItem, final T newItem) {
+            return mInstantAdapterCore.getItemId(oldItem)
+                    == mInstantAdapterCore.getItemId(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(final T oldItem, final T newItem) {
+            return oldItem.equals(newItem);
+        }
+    }
+
+    /**
+     * Inflates rows ahead of time in idle slices of the main thread, so that the first screen
+     * of rows does not have to be inflated at once.
+     *
+     * @param parent The {@link android.widget.ListView} the adapter will be set on.
+     * @param count Number of rows to inflate, usually the number of rows visible on screen.
+     */
+    public void preinflate(final ViewGroup parent, final int count) {
+        mInstantAdapterCore.preinflate(parent, count);
+    }
+
+    /**
+     * Inflates rows ahead of time on the given {@link Executor}. Only use this if none of the
+     * Views in your row layout require the main thread when they are constructed.
+     *
+     * @param parent The {@link android.widget.ListView} the adapter will be set on.
+     * @param count Number of rows to inflate, usually the number of rows visible on screen.
+     * @param executor The {@link Executor} to inflate the rows on.
+     */
+    public void preinflate(final ViewGroup parent, final int count, final Executor executor) {
+        mInstantAdapterCore.preinflate(parent, count, executor);
+    }
+
+    /**
+     * Returns the number of rows that were taken from the pre-inflated rows.
+     *
+     * @return Number of pre-inflated rows used.
+     */
+    public long getPreinflatedHitCount() {
+        return mInstantAdapterCore.getPreinflatedHitCount();
+    }
+
+    /**
+     * Returns the number of rows that had to be inflated on demand after pre-inflation was
+     * requested.
+     *
+     * @return Number of rows inflated on demand.
+     */
+    public long getPreinflatedMissCount() {
+        return mInstantAdapterCore.getPreinflatedMissCount();
+    }
+
+    /**
+     * Sets an {@link InstantViewPool} shared with other adapters that use the same row layout.
+     *
+     * @param viewPool The shared {@link InstantViewPool}, {@code null} to stop using a pool.
+     */
+    public void setViewPool(final InstantViewPool viewPool) {
+        mInstantAdapterCore.setViewPool(viewPool);
+    }
+
+    /**
+     * Moves the rows of the list this adapter is set on into the {@link InstantViewPool}. Call
+     * this when the list is going away, for instance from {@code Fragment.onDestroyView()}.
+     *
+     * @param listView The list this adapter is set on.
+     */
+    public void releaseViews(final AbsListView listView) {
+        mInstantAdapterCore.releaseViews(listView);
+    }
+
+    /**
+     * Sets a {@link InstantMetrics.Listener} that receives this adapter's inflate and bind
+     * timings. It takes precedence over the global listener set on {@link InstantMetrics}.
+     *
+     * @param listener The {@link InstantMetrics.Listener}, {@code null} to remove it.
+     */
+    public void setMetricsListener(final InstantMetrics.Listener listener) {
+        mInstantAdapterCore.setMetricsListener(listener);
+    }
+
 }
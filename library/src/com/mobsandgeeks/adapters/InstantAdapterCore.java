@@ -15,25 +15,40 @@
 package com.mobsandgeeks.adapters;
 
 import android.content.Context;
+import android.database.CharArrayBuffer;
+import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.text.Html;
+import android.text.Spanned;
 import android.util.Log;
 import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.widget.AbsListView;
 import android.widget.AdapterView;
 import android.widget.ArrayAdapter;
+import android.widget.ImageView;
 import android.widget.ListAdapter;
 import android.widget.TextView;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.text.SimpleDateFormat;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 import java.util.Locale;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 
 /**
  * {@link InstantAdapterCore} does all the heavy lifting behind the scenes for
@@ -60,13 +75,49 @@ class InstantAdapterCore<T> {
     private int mLayoutResourceId;
     private LayoutInflater mLayoutInflater;
     private Class<?> mDataType;
-    private Set<Integer> mAnnotatedViewIds;
     private SparseArray<ViewHandler<T>> mViewHandlers;
+    private Plan<T> mPlan;
+    private TextFormatter mTextFormatter;
+    private HtmlCache mHtmlCache;
+    private ImageLoader mImageLoader;
+    private boolean mSkipRebindingSameInstance;
+    private Map<T, T> mUnchangedInstances;
+    private InstantMetrics.Listener mMetricsListener;
+
+    // Statistics
+    private long mSkippedRowBindCount;
+    private long mSkippedViewUpdateCount;
+    private long mPrebindHitCount;
+    private long mPrebindMissCount;
+    private long mPreinflatedHitCount;
+    private long mPreinflatedMissCount;
+
+    // Pre-inflated rows, filled from a background thread or idle main thread slices
+    private final ConcurrentLinkedQueue<View> mPreinflatedViews =
+            new ConcurrentLinkedQueue<View>();
+    private boolean mPreinflating;
+
+    // Rows shared with other adapters
+    private InstantViewPool mViewPool;
+
+    // Asynchronous pre-binding
+    private int mPrebindWindow;
+    private Executor mPrebindExecutor;
+    private Handler mPrebindHandler;
+    private SparseArray<Prebound> mPrebound;
+    private int mPrebindGeneration;
+    private boolean mPrebindInFlight;
+    private int mPendingPrebindPosition = -1;
+    private TextFormatter mPrebindTextFormatter;
+    private SimpleDateFormat[] mPrebindDateFormats;
 
     // Caches
     private SparseArray<Meta> mViewIdsAndMetaCache;
-    private SparseArray<SimpleDateFormat> mDateFormatCache;
-    private SparseArray<String> mFormatStringCache;
+    private IdAccessor mIdAccessor;
+
+    // Column indices of the last Cursor bound from, by annotated slot
+    private Cursor mColumnCursor;
+    private int[] mColumnIndices;
 
     /**
      * Constructs a new {@link InstantAdapterCore} for your {@link InstantAdapter} and
@@ -91,17 +142,30 @@ class InstantAdapterCore<T> {
         }
 
         mContext = context;
+        mAdapter = adapter;
         mLayoutResourceId = layoutResourceId;
         mLayoutInflater = LayoutInflater.from(context);
         mDataType = dataType;
         mViewHandlers = new SparseArray<ViewHandler<T>>();
-        mAnnotatedViewIds = new HashSet<Integer>();
-        mViewIdsAndMetaCache = new SparseArray<Meta>();
-        mDateFormatCache = new SparseArray<SimpleDateFormat>();
-        mFormatStringCache = new SparseArray<String>();
+        mTextFormatter = new TextFormatter();
+        mHtmlCache = new HtmlCache();
 
         // Setup
-        findAnnotatedMethods();
+        Locale locale = context.getResources().getConfiguration().locale;
+        Metadata metadata = InstantMetadataCache.get(dataType, layoutResourceId, locale);
+        InstantMetrics.Listener listener = InstantMetrics.getListener();
+        if (listener != null) {
+            listener.onCacheAccess(layoutResourceId, InstantMetrics.CACHE_METADATA,
+                    metadata != null);
+        }
+
+        if (metadata == null) {
+            metadata = createMetadata(locale);
+            InstantMetadataCache.put(dataType, layoutResourceId, metadata);
+        } else if (DEBUG) {
+            Log.d(LOG_TAG, "Using cached metadata for " + dataType.getName());
+        }
+        useMetadata(metadata);
     }
 
     /**
@@ -115,9 +179,199 @@ class InstantAdapterCore<T> {
      */
     public final void bindToView(final ViewGroup parent, final View view,
             final T instance, final int position) {
-        SparseArray<Holder> holders = (SparseArray<Holder>) view.getTag(mLayoutResourceId);
-        updateAnnotatedViews(holders, view, instance, position);
-        executeViewHandlers(holders, parent, view, instance, position);
+        InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
+        long start = listener != null ? System.nanoTime() : 0;
+        InstantMetrics.beginSection("InstantAdapter#bindToView");
+
+        Plan<T> plan = getPlan();
+        Row row = (Row) view.getTag(mLayoutResourceId);
+        if (row.plan != plan) {
+            resolveRow(row, view, plan);
+        }
+
+        boolean skipAnnotatedViews = instance != null && row.instance != null
+                && (mSkipRebindingSameInstance && row.instance == instance
+                        || mUnchangedInstances != null
+                                && mUnchangedInstances.get(instance) == row.instance);
+        if (skipAnnotatedViews) {
+            mSkippedRowBindCount++;
+        }
+        row.instance = instance;
+
+        Prebound prebound = null;
+        if (mPrebindWindow > 0) {
+            prebound = findPrebound(instance, position);
+            schedulePrebind(position);
+            if (listener != null) {
+                listener.onCacheAccess(mLayoutResourceId, InstantMetrics.CACHE_PREBOUND,
+                        prebound != null);
+            }
+        }
+
+        executePlan(plan, row, parent, view, instance, position, skipAnnotatedViews, prebound,
+                listener);
+
+        InstantMetrics.endSection();
+        if (listener != null) {
+            listener.onRowBound(mLayoutResourceId, position, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Binds only the Views with the given ids, annotated Views are updated from their members
+     * and the {@link ViewHandler}s set on them are executed. The row's other Views and the
+     * {@link ViewHandler} set on the layout itself are left untouched.
+     *
+     * @param parent The {@link View}'s parent.
+     * @param view A row that has already been bound to {@code instance}.
+     * @param instance Instance backed by the adapter at the given position.
+     * @param position The list item's position.
+     * @param viewIds Ids of the Views to bind.
+     */
+    public final void bindToView(final ViewGroup parent, final View view,
+            final T instance, final int position, final int[] viewIds) {
+        Plan<T> plan = getPlan();
+        Row row = (Row) view.getTag(mLayoutResourceId);
+        if (row.plan != plan) {
+            resolveRow(row, view, plan);
+        }
+        row.instance = instance;
+
+        for (int i = 0; i < plan.size; i++) {
+            if (!contains(viewIds, plan.viewIds[i])) {
+                continue;
+            }
+
+            Holder holder = row.holders[i];
+            ViewHandler<T> viewHandler = plan.viewHandlers[i];
+            if (i < plan.nAnnotated) {
+                updateAnnotatedView(plan, i, holder, instance, viewHandler != null, null);
+            }
+            if (viewHandler != null) {
+                viewHandler.handleView(mAdapter, view, holder.view, instance, position);
+            }
+        }
+    }
+
+    /**
+     * Creates an {@link InstantViewHolder} for a row created by {@link #createNewView}. The Views
+     * of the annotated members and of the {@link ViewHandler}s are looked up once, from the same
+     * metadata the row is bound with.
+     *
+     * @param view A row created by {@link #createNewView}.
+     *
+     * @return The {@link InstantViewHolder}, not yet bound to any item.
+     */
+    public InstantViewHolder<T> createViewHolder(final View view) {
+        Plan<T> plan = getPlan();
+        Row row = (Row) view.getTag(mLayoutResourceId);
+        if (row.plan != plan) {
+            resolveRow(row, view, plan);
+        }
+
+        InstantViewHolder<T> viewHolder = new InstantViewHolder<T>(view);
+        for (int i = 0; i < plan.size; i++) {
+            View viewFromLayout = row.holders[i].view;
+            if (viewFromLayout != null) {
+                viewHolder.putView(plan.viewIds[i], viewFromLayout);
+            }
+        }
+        return viewHolder;
+    }
+
+    /**
+     * Binds the row straight from the {@link Cursor}'s current position, reading the columns
+     * named by the {@link InstantColumn} annotations on your model's annotated methods. No
+     * instance of the model is involved, {@link ViewHandler}s receive {@code null} instead.
+     * Columns shown without a date pattern, format string or HTML are copied into a buffer kept
+     * by the row, so binding them allocates nothing.
+     *
+     * @param parent The {@link View}'s parent.
+     * @param view The associated view.
+     * @param cursor The {@link Cursor}, positioned on the row to bind.
+     *
+     * @throws IllegalStateException If an annotated method has no {@link InstantColumn}
+     *          annotation or the {@link Cursor} does not have its column.
+     */
+    public final void bindCursorToView(final ViewGroup parent, final View view,
+            final Cursor cursor) {
+        InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
+        long start = listener != null ? System.nanoTime() : 0;
+        InstantMetrics.beginSection("InstantAdapter#bindCursorToView");
+
+        Plan<T> plan = getPlan();
+        Row row = (Row) view.getTag(mLayoutResourceId);
+        if (row.plan != plan) {
+            resolveRow(row, view, plan);
+        }
+        row.instance = null;
+
+        if (cursor != mColumnCursor) {
+            mColumnIndices = resolveColumns(cursor);
+            mColumnCursor = cursor;
+        }
+
+        int position = cursor.getPosition();
+        for (int i = 0; i < plan.size; i++) {
+            Holder holder = row.holders[i];
+            ViewHandler<T> viewHandler = plan.viewHandlers[i];
+            if (i < plan.nAnnotated) {
+                updateAnnotatedView(plan, i, holder, cursor, mColumnIndices[i],
+                        viewHandler != null);
+            }
+            if (viewHandler != null) {
+                viewHandler.handleView(mAdapter, view, holder.view, null, position);
+            }
+        }
+        if (plan.layoutViewHandler != null) {
+            plan.layoutViewHandler.handleView(mAdapter, parent, view, null, position);
+        }
+
+        InstantMetrics.endSection();
+        if (listener != null) {
+            listener.onRowBound(mLayoutResourceId, position, System.nanoTime() - start);
+        }
+    }
+
+    private int[] resolveColumns(final Cursor cursor) {
+        int size = mViewIdsAndMetaCache.size();
+        int[] columnIndices = new int[size];
+        for (int i = 0; i < size; i++) {
+            Meta meta = mViewIdsAndMetaCache.valueAt(i);
+            if (meta.column == null) {
+                throw new IllegalStateException(String.format("%s.%s should be annotated " +
+                        "with @InstantColumn", mDataType.getSimpleName(), meta.member));
+            }
+
+            columnIndices[i] = cursor.getColumnIndex(meta.column);
+            if (columnIndices[i] == -1) {
+                throw new IllegalStateException(String.format("Cannot find column '%s' for " +
+                        "%s.%s", meta.column, mDataType.getSimpleName(), meta.member));
+            }
+        }
+        return columnIndices;
+    }
+
+    private static boolean contains(final int[] array, final int value) {
+        for (int element : array) {
+            if (element == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the instance a row was last bound to.
+     *
+     * @param view A row created by {@link #createNewView(Context, ViewGroup)}.
+     *
+     * @return The instance or {@code null} if the row has not been bound yet.
+     */
+    @SuppressWarnings("unchecked")
+    public T getBoundInstance(final View view) {
+        Object tag = view.getTag(mLayoutResourceId);
+        return tag instanceof Row ? (T) ((Row) tag).instance : null;
     }
 
     /**
@@ -128,28 +382,283 @@ class InstantAdapterCore<T> {
      * @return The {@link View} that was inflated from the layout.
      */
     public final View createNewView(final Context context, final ViewGroup parent) {
-        View view = mLayoutInflater.inflate(mLayoutResourceId, parent, false);
-        SparseArray<Holder> holders = new SparseArray<Holder>();
+        InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
 
-        int size = mViewIdsAndMetaCache.size();
-        for (int i = 0; i < size; i++) {
-            int viewId = mViewIdsAndMetaCache.keyAt(i);
-            Meta meta = mViewIdsAndMetaCache.get(viewId);
-            View viewFromLayout = view.findViewById(viewId);
-            if (viewFromLayout == null) {
-                String message = String.format("Cannot find View, check the 'viewId' " +
-                        "attribute on method %s.%s()",
-                            mDataType.getName(), meta.method.getName());
-                throw new IllegalStateException(message);
+        if (mPreinflating) {
+            View view = mPreinflatedViews.poll();
+            if (listener != null) {
+                listener.onCacheAccess(mLayoutResourceId, InstantMetrics.CACHE_PREINFLATED,
+                        view != null);
+            }
+            if (view != null) {
+                mPreinflatedHitCount++;
+                return view;
+            }
+            mPreinflatedMissCount++;
+        }
+
+        if (mViewPool != null) {
+            View view = mViewPool.get(mLayoutResourceId);
+            if (listener != null) {
+                listener.onCacheAccess(mLayoutResourceId, InstantMetrics.CACHE_VIEW_POOL,
+                        view != null);
+            }
+            if (view != null) {
+                return view;
+            }
+        }
+
+        long start = listener != null ? System.nanoTime() : 0;
+        InstantMetrics.beginSection("InstantAdapter#createNewView");
+        View view = inflateRow(mLayoutInflater, parent, getPlan());
+        InstantMetrics.endSection();
+        if (listener != null) {
+            listener.onRowInflated(mLayoutResourceId, System.nanoTime() - start);
+        }
+
+        return view;
+    }
+
+    /**
+     * Sets a {@link InstantMetrics.Listener} for this adapter, it takes precedence over the
+     * global listener set on {@link InstantMetrics}.
+     *
+     * @param listener The {@link InstantMetrics.Listener}, {@code null} to remove it.
+     */
+    public void setMetricsListener(final InstantMetrics.Listener listener) {
+        mMetricsListener = listener;
+    }
+
+    /**
+     * Sets the {@link InstantViewPool} to take rows from before inflating new ones.
+     *
+     * @param viewPool The shared {@link InstantViewPool}, {@code null} to stop using a pool.
+     */
+    public void setViewPool(final InstantViewPool viewPool) {
+        mViewPool = viewPool;
+    }
+
+    /**
+     * Returns the {@link InstantViewPool} used by this adapter.
+     *
+     * @return The {@link InstantViewPool} or {@code null} if there is none.
+     */
+    public InstantViewPool getViewPool() {
+        return mViewPool;
+    }
+
+    /**
+     * Moves the rows of a list that is going away into the {@link InstantViewPool}, so that
+     * other adapters using the same layout can reuse them. The rows are detached from the list.
+     *
+     * @param listView The list this adapter is set on.
+     *
+     * @throws IllegalStateException If no {@link InstantViewPool} has been set.
+     */
+    public void releaseViews(final AbsListView listView) {
+        if (listView == null) {
+            throw new IllegalArgumentException("'listView' cannot be null.");
+        } else if (mViewPool == null) {
+            throw new IllegalStateException("Call setViewPool() before releasing views.");
+        }
+
+        List<View> views = new ArrayList<View>();
+        listView.reclaimViews(views);
+        for (View view : views) {
+            // Headers, footers and rows of other layouts are left alone
+            if (!(view.getTag(mLayoutResourceId) instanceof Row)) {
+                continue;
+            }
+
+            ViewParent parent = view.getParent();
+            if (parent == listView) {
+                listView.removeViewInLayout(view);
+            } else if (parent != null) {
+                continue;
             }
-            holders.append(viewId, new Holder(viewFromLayout, meta));
-            mAnnotatedViewIds.add(viewId);
+
+            Row row = (Row) view.getTag(mLayoutResourceId);
+            row.instance = null;
+            mViewPool.put(mLayoutResourceId, view);
         }
-        view.setTag(mLayoutResourceId, holders);
+    }
+
+    /**
+     * Inflates rows ahead of time in idle slices of the main thread, one row per slice. Rows
+     * created by {@link #createNewView(Context, ViewGroup)} are taken from the pre-inflated rows
+     * first.
+     *
+     * @param parent The parent the rows will be attached to, used to generate their layout
+     *          params.
+     * @param count Number of rows to inflate.
+     */
+    public void preinflate(final ViewGroup parent, final int count) {
+        assertValidCount(count);
+        mPreinflating = true;
+
+        final Plan<T> plan = getPlan();
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int mRemaining = count;
+
+            @Override
+            public boolean queueIdle() {
+                if (mRemaining > 0) {
+                    mPreinflatedViews.offer(inflateRow(mLayoutInflater, parent, plan));
+                    mRemaining--;
+                }
+                return mRemaining > 0;
+            }
+        });
+    }
+
+    /**
+     * Inflates rows ahead of time on the given {@link Executor}, using a clone of the
+     * {@link LayoutInflater}. Rows created by {@link #createNewView(Context, ViewGroup)} are
+     * taken from the pre-inflated rows first.
+     * <p>
+     * Inflate off the main thread only if none of the Views in your layout touch the main
+     * {@link Looper} when they are constructed (for instance by creating a {@link Handler}).
+     * Use {@link #preinflate(ViewGroup, int)} otherwise.
+     * </p>
+     *
+     * @param parent The parent the rows will be attached to, used to generate their layout
+     *          params.
+     * @param count Number of rows to inflate.
+     * @param executor The {@link Executor} to inflate the rows on.
+     */
+    public void preinflate(final ViewGroup parent, final int count, final Executor executor) {
+        assertValidCount(count);
+        if (executor == null) {
+            throw new IllegalArgumentException("'executor' cannot be null.");
+        }
+        mPreinflating = true;
+
+        final Plan<T> plan = getPlan();
+        final LayoutInflater layoutInflater = mLayoutInflater.cloneInContext(mContext);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    mPreinflatedViews.offer(inflateRow(layoutInflater, parent, plan));
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the number of rows that were taken from the pre-inflated rows.
+     *
+     * @return Number of pre-inflated rows used.
+     */
+    public long getPreinflatedHitCount() {
+        return mPreinflatedHitCount;
+    }
+
+    /**
+     * Returns the number of rows that had to be inflated synchronously after pre-inflation was
+     * requested.
+     *
+     * @return Number of rows inflated on demand.
+     */
+    public long getPreinflatedMissCount() {
+        return mPreinflatedMissCount;
+    }
+
+    private static void assertValidCount(final int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("'count' cannot be negative.");
+        }
+    }
+
+    /*
+     * Runs on the main thread or on a pre-inflation thread. The plan is captured on the main
+     * thread, rows resolved against a plan that has been replaced since are resolved again when
+     * they are bound.
+     */
+    private View inflateRow(final LayoutInflater layoutInflater, final ViewGroup parent,
+            final Plan<T> plan) {
+        View view = layoutInflater.inflate(mLayoutResourceId, parent, false);
+        Row row = new Row();
+        resolveRow(row, view, plan);
+        view.setTag(mLayoutResourceId, row);
 
         return view;
     }
 
+    /**
+     * Skips binding the annotated views of a row when it is bound again to the very same
+     * instance, a common case when {@code notifyDataSetChanged()} is called repeatedly or when a
+     * short list is wrapped in a {@link CircularListAdapter}. {@link ViewHandler}s are executed
+     * regardless.
+     * <p>
+     * Enable this only if your instances are not modified once they are handed over to the
+     * adapter, otherwise the changes will not be reflected on rows that are already bound.
+     * </p>
+     *
+     * @param skip {@code true} to skip rebinding the same instance, {@code false} otherwise.
+     */
+    public void setSkipRebindingSameInstance(final boolean skip) {
+        mSkipRebindingSameInstance = skip;
+    }
+
+    /**
+     * Skips binding the annotated views of a row that is bound to an instance whose contents are
+     * known to be the same as those of the instance the row is already bound to, typically
+     * after a list has been replaced by one computed with {@link InstantDiff}.
+     *
+     * @param unchangedInstances Maps new instances to the previous instances they replace,
+     *          compared by identity. {@code null} to stop skipping.
+     */
+    public void setUnchangedInstances(final Map<T, T> unchangedInstances) {
+        mUnchangedInstances = unchangedInstances;
+    }
+
+    /**
+     * Returns the number of rows whose annotated views were not bound because the row was already
+     * bound to the same instance.
+     *
+     * @return Number of skipped row binds.
+     */
+    public long getSkippedRowBindCount() {
+        return mSkippedRowBindCount;
+    }
+
+    /**
+     * Returns the number of annotated views that were not updated because the value they display
+     * did not change since the previous bind.
+     *
+     * @return Number of skipped view updates.
+     */
+    public long getSkippedViewUpdateCount() {
+        return mSkippedViewUpdateCount;
+    }
+
+    /**
+     * Tells whether the model has an {@link InstantId} annotated member.
+     *
+     * @return {@code true} if instances have stable ids.
+     */
+    public boolean hasStableIds() {
+        return mIdAccessor != null;
+    }
+
+    /**
+     * Returns the {@link InstantId} of the given instance.
+     *
+     * @param instance The instance.
+     *
+     * @return The instance's id.
+     *
+     * @throws IllegalStateException If the model has no {@link InstantId} annotated member.
+     */
+    public long getItemId(final T instance) {
+        if (mIdAccessor == null) {
+            throw new IllegalStateException(mDataType.getSimpleName()
+                    + " has no @InstantId member.");
+        }
+        return mIdAccessor.getId(instance);
+    }
+
     /**
      * Sets an {@link ViewHandler} for a given View id.
      * 
@@ -163,6 +672,7 @@ class InstantAdapterCore<T> {
             throw new IllegalArgumentException("'viewHandler' cannot be null.");
         }
         mViewHandlers.put(viewId, viewHandler);
+        mPlan = null;
     }
 
     /**
@@ -192,6 +702,7 @@ class InstantAdapterCore<T> {
      */
     public void removeViewHandler(final int viewId) {
         mViewHandlers.remove(viewId);
+        mPlan = null;
     }
 
     /**
@@ -199,6 +710,138 @@ class InstantAdapterCore<T> {
      */
     public void removeAllViewHandlers() {
         mViewHandlers.clear();
+        mPlan = null;
+    }
+
+    /**
+     * Sets the size of the cache that holds HTML rendered for {@code isHtml} bindings.
+     *
+     * @param maxSize Maximum number of characters (HTML source and rendered text combined) to be
+     *          cached, {@code 0} disables caching.
+     *
+     * @throws IllegalArgumentException If {@code maxSize} is negative.
+     */
+    public void setHtmlCacheSize(final int maxSize) {
+        mHtmlCache.setMaxSize(maxSize);
+    }
+
+    /**
+     * Returns the number of times rendered HTML was found in the cache.
+     *
+     * @return Number of HTML cache hits.
+     */
+    public long getHtmlCacheHitCount() {
+        return mHtmlCache.getHitCount();
+    }
+
+    /**
+     * Returns the number of times HTML had to be rendered because it was not in the cache.
+     *
+     * @return Number of HTML cache misses.
+     */
+    public long getHtmlCacheMissCount() {
+        return mHtmlCache.getMissCount();
+    }
+
+    /**
+     * Renders the HTML of all {@code isHtml} bindings for the given instances on the supplied
+     * {@link Executor} and caches it, so that binding the rows later does not have to. The
+     * instances' annotated members are called from the {@link Executor}'s thread.
+     *
+     * @param instances Instances whose HTML has to be rendered.
+     * @param executor The {@link Executor} to render on.
+     */
+    public void prerenderHtml(final Collection<? extends T> instances, final Executor executor) {
+        final List<Meta> htmlMetas = new ArrayList<Meta>();
+        int size = mViewIdsAndMetaCache.size();
+        for (int i = 0; i < size; i++) {
+            Meta meta = mViewIdsAndMetaCache.valueAt(i);
+            if (meta.isHtml) {
+                htmlMetas.add(meta);
+            }
+        }
+        if (htmlMetas.isEmpty() || instances.isEmpty()) {
+            return;
+        }
+
+        final List<T> snapshot = new ArrayList<T>(instances);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                // Formatters are not thread-safe, use our own
+                TextFormatter textFormatter = new TextFormatter();
+                for (Meta meta : htmlMetas) {
+                    SimpleDateFormat simpleDateFormat = newDateFormat(meta);
+                    for (T instance : snapshot) {
+                        Object value = meta.accessor.get(instance, mContext);
+                        if (value != null) {
+                            mHtmlCache.render(meta.viewId, toText(textFormatter, meta,
+                                    simpleDateFormat, value));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Enables asynchronous pre-binding. The display values (the text of every annotated view) of
+     * the rows within {@code window} positions of the row being bound are computed on the given
+     * {@link Executor} and cached, the bind then only has to assign them. Rows that have not been
+     * pre-bound are bound synchronously as usual. The instances' annotated members are called
+     * from the {@link Executor}'s thread.
+     * <p>
+     * Requires the adapter's {@code getItem()} to return instances of the model, which is why only
+     * {@link InstantAdapter} exposes it.
+     * </p>
+     *
+     * @param window Number of positions to pre-bind on either side, {@code 0} disables
+     *          pre-binding.
+     * @param executor The {@link Executor} to compute the display values on.
+     */
+    public void setAsyncPrebinding(final int window, final Executor executor) {
+        if (window < 0) {
+            throw new IllegalArgumentException("'window' cannot be negative.");
+        } else if (window > 0 && executor == null) {
+            throw new IllegalArgumentException("'executor' cannot be null.");
+        }
+
+        mPrebindWindow = window;
+        mPrebindExecutor = executor;
+        if (window > 0 && mPrebound == null) {
+            mPrebindHandler = new Handler(Looper.getMainLooper());
+            mPrebound = new SparseArray<Prebound>();
+        }
+        invalidatePrebound();
+    }
+
+    /**
+     * Discards all pre-bound display values, must be called whenever the data set changes.
+     */
+    public void invalidatePrebound() {
+        mPrebindGeneration++;
+        if (mPrebound != null) {
+            mPrebound.clear();
+        }
+    }
+
+    /**
+     * Returns the number of rows that were bound using pre-bound display values.
+     *
+     * @return Number of pre-bind hits.
+     */
+    public long getPrebindHitCount() {
+        return mPrebindHitCount;
+    }
+
+    /**
+     * Returns the number of rows that had to be bound synchronously while pre-binding was
+     * enabled.
+     *
+     * @return Number of pre-bind misses.
+     */
+    public long getPrebindMissCount() {
+        return mPrebindMissCount;
     }
 
     /**
@@ -207,39 +850,415 @@ class InstantAdapterCore<T> {
      */
     private static class Holder {
         View view;
-        Meta meta;
+        TextView textView;
+        ImageLoader.Target imageTarget;
 
-        Holder(final View view, final Meta meta) {
+        // Value displayed by the view, used to skip redundant updates
+        boolean hasValue;
+        Object value;
+
+        // Formatted text, the TextView keeps a reference to this array
+        char[] chars;
+
+        // Text copied from a Cursor, the TextView keeps a reference to the shown buffer's array
+        CharArrayBuffer shownBuffer;
+        CharArrayBuffer copyBuffer;
+
+        Holder(final View view) {
             this.view = view;
-            this.meta = meta;
+            this.textView = view instanceof TextView ? (TextView) view : null;
+            this.imageTarget = view instanceof ImageView ?
+                    new ImageLoader.Target((ImageView) view) : null;
+        }
+
+        boolean isShowing(final Object newValue) {
+            if (!hasValue) {
+                return false;
+            } else if (value == null || newValue == null) {
+                return value == newValue;
+            }
+            return isImmutable(newValue) && newValue.equals(value);
+        }
+
+        void setValue(final Object newValue) {
+            hasValue = true;
+            value = newValue;
+        }
+
+        void setText(final StringBuilder text) {
+            int length = text.length();
+            if (chars == null || chars.length < length) {
+                chars = new char[Math.max(length, 32)];
+            }
+            text.getChars(0, length, chars, 0);
+            textView.setText(chars, 0, length);
+        }
+
+        /**
+         * Copies a column's text and shows it, unless it is already shown and {@code force} is
+         * {@code false}.
+         *
+         * @return {@code true} if the text was updated.
+         */
+        boolean copyText(final Cursor cursor, final int columnIndex, final boolean force) {
+            if (copyBuffer == null) {
+                copyBuffer = new CharArrayBuffer(32);
+            }
+            cursor.copyStringToBuffer(columnIndex, copyBuffer);
+            if (!force && hasValue && value == shownBuffer
+                    && isSameText(shownBuffer, copyBuffer)) {
+                return false;
+            }
+
+            textView.setText(copyBuffer.data, 0, copyBuffer.sizeCopied);
+            CharArrayBuffer shown = copyBuffer;
+            copyBuffer = shownBuffer;
+            shownBuffer = shown;
+            setValue(shown);
+            return true;
+        }
+
+        private static boolean isSameText(final CharArrayBuffer a, final CharArrayBuffer b) {
+            int length = a.sizeCopied;
+            if (length != b.sizeCopied) {
+                return false;
+            }
+            char[] aData = a.data;
+            char[] bData = b.data;
+            for (int i = 0; i < length; i++) {
+                if (aData[i] != bData[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /*
+         * Mutable values (such as Dates) can be modified in place by the model, even the very
+         * same reference may have to be shown differently. They are always shown again.
+         */
+        private static boolean isImmutable(final Object value) {
+            return value instanceof String
+                    || (value instanceof Number
+                            && value.getClass().getName().startsWith("java.lang."))
+                    || value instanceof Boolean || value instanceof Character
+                    || value instanceof Enum;
+        }
+    }
+
+    /**
+     * Set as a tag on every row that is inflated by {@link InstantAdapterCore}. Holds one
+     * {@link Holder} for every slot of the {@link Plan} the row was resolved against.
+     */
+    private static class Row {
+        Plan<?> plan;
+        Holder[] holders;
+        Object instance;
+    }
+
+    /**
+     * Flat description of the work required to bind a row, compiled once from the annotated
+     * members and the {@link ViewHandler}s. Each slot is a View id along with its {@link Meta}
+     * (if the View is annotated) and its {@link ViewHandler} (if it has one). Annotated slots come
+     * first. A new plan is compiled whenever the {@link ViewHandler}s change.
+     */
+    private static class Plan<T> {
+        int size;
+        int nAnnotated;
+        int[] viewIds;
+        Meta[] metas;
+        ViewHandler<T>[] viewHandlers;
+        SimpleDateFormat[] dateFormats;
+        ViewHandler<T> layoutViewHandler;
+    }
+
+    private Plan<T> getPlan() {
+        if (mPlan == null) {
+            mPlan = compilePlan();
+        }
+        return mPlan;
+    }
+
+    private Plan<T> compilePlan() {
+        int nAnnotated = mViewIdsAndMetaCache.size();
+        int nViewHandlers = mViewHandlers.size();
+
+        Plan<T> plan = new Plan<T>();
+        plan.viewIds = new int[nAnnotated + nViewHandlers];
+        plan.metas = new Meta[nAnnotated + nViewHandlers];
+        @SuppressWarnings("unchecked")
+        ViewHandler<T>[] viewHandlers =
+                (ViewHandler<T>[]) new ViewHandler<?>[nAnnotated + nViewHandlers];
+        plan.viewHandlers = viewHandlers;
+        plan.dateFormats = new SimpleDateFormat[nAnnotated + nViewHandlers];
+
+        int slot = 0;
+        for (int i = 0; i < nAnnotated; i++, slot++) {
+            Meta meta = mViewIdsAndMetaCache.valueAt(i);
+            plan.viewIds[slot] = mViewIdsAndMetaCache.keyAt(i);
+            plan.metas[slot] = meta;
+            plan.viewHandlers[slot] = mViewHandlers.get(plan.viewIds[slot]);
+            plan.dateFormats[slot] = createDateFormat(meta);
+        }
+        plan.nAnnotated = nAnnotated;
+
+        for (int i = 0; i < nViewHandlers; i++) {
+            int viewId = mViewHandlers.keyAt(i);
+            if (viewId == mLayoutResourceId) {
+                plan.layoutViewHandler = mViewHandlers.valueAt(i);
+            } else if (mViewIdsAndMetaCache.indexOfKey(viewId) < 0) {
+                plan.viewIds[slot] = viewId;
+                plan.viewHandlers[slot] = mViewHandlers.valueAt(i);
+                slot++;
+            }
         }
+        plan.size = slot;
+
+        return plan;
+    }
+
+    private SimpleDateFormat createDateFormat(final Meta meta) {
+        // Reuse the formats of the previous plan, they do not depend on the ViewHandlers
+        if (mPlan != null) {
+            for (int i = 0; i < mPlan.nAnnotated; i++) {
+                if (mPlan.metas[i] == meta) {
+                    return mPlan.dateFormats[i];
+                }
+            }
+        }
+
+        return newDateFormat(meta);
+    }
+
+    private static SimpleDateFormat newDateFormat(final Meta meta) {
+        String datePattern = meta.resolvedDatePattern;
+        return datePattern != null && !EMPTY_STRING.equals(datePattern) ?
+                new SimpleDateFormat(datePattern, Locale.getDefault()) : null;
+    }
+
+    private void resolveRow(final Row row, final View view, final Plan<T> plan) {
+        Holder[] holders = new Holder[plan.size];
+        for (int i = 0; i < plan.size; i++) {
+            View viewFromLayout = view.findViewById(plan.viewIds[i]);
+            if (viewFromLayout == null && plan.metas[i] != null) {
+                String message = String.format("Cannot find View, check the 'viewId' " +
+                        "attribute on member %s.%s",
+                            mDataType.getName(), plan.metas[i].member);
+                throw new IllegalStateException(message);
+            }
+
+            // Keep the holder if the view was already resolved, it remembers the view's value
+            Holder holder = findHolder(row, viewFromLayout);
+            holders[i] = holder != null ? holder : new Holder(viewFromLayout);
+        }
+
+        row.plan = plan;
+        row.holders = holders;
+    }
+
+    private Holder findHolder(final Row row, final View view) {
+        if (row.holders != null && view != null) {
+            for (Holder holder : row.holders) {
+                if (holder.view == view) {
+                    return holder;
+                }
+            }
+        }
+        return null;
     }
 
     /**
-     * Class holds reference to a View's annotation and it's annotated method.
+     * Class holds the attributes of a View's annotation and the {@link MemberAccessor} that reads
+     * the annotated member. Instances are shared through the {@link InstantMetadataCache} and
+     * must not be modified once the scan is complete.
      */
-    private static class Meta {
-        Annotation annotation;
-        Method method;
+    static class Meta {
+        String member;
+        int viewId;
+        int datePatternResId;
+        String datePattern;
+        int formatStringResId;
+        String formatString;
+        boolean isHtml;
+        boolean isImage;
+        int placeholderResId;
+        MemberAccessor accessor;
+
+        // Cursor column read instead of calling the member, if any
+        String column;
+        Class<?> columnType;
+
+        // Patterns with string resources resolved
+        String resolvedDatePattern;
+        String resolvedFormatString;
+        TextFormatter.Pattern formatPattern;
+
+        Meta(final InstantText instantText, final String member,
+                final MemberAccessor accessor) {
+            this.member = member;
+            this.viewId = instantText.viewId();
+            this.datePatternResId = instantText.datePatternResId();
+            this.datePattern = instantText.datePattern();
+            this.formatStringResId = instantText.formatStringResId();
+            this.formatString = instantText.formatString();
+            this.isHtml = instantText.isHtml();
+            this.accessor = accessor;
+        }
+
+        Meta(final InstantImage instantImage, final String member,
+                final MemberAccessor accessor) {
+            this.member = member;
+            this.viewId = instantImage.viewId();
+            this.datePattern = EMPTY_STRING;
+            this.formatString = EMPTY_STRING;
+            this.isImage = true;
+            this.placeholderResId = instantImage.placeholderResId();
+            this.accessor = accessor;
+        }
+
+        Meta(final InstantBinder.Binding binding, final MemberAccessor accessor) {
+            this.member = binding.member;
+            this.viewId = binding.viewId;
+            this.datePatternResId = binding.datePatternResId;
+            this.datePattern = binding.datePattern;
+            this.formatStringResId = binding.formatStringResId;
+            this.formatString = binding.formatString;
+            this.isHtml = binding.isHtml;
+            this.isImage = binding.isImage;
+            this.placeholderResId = binding.placeholderResId;
+            this.accessor = accessor;
+        }
+
+        void resolvePatterns(final Context context) {
+            resolvedDatePattern = datePatternResId != 0 ?
+                    context.getString(datePatternResId) : datePattern;
+            resolvedFormatString = formatStringResId != 0 ?
+                    context.getString(formatStringResId) : formatString;
+            formatPattern = TextFormatter.Pattern.compile(resolvedFormatString);
+        }
+    }
+
+    /**
+     * Everything {@link InstantAdapterCore} learns about a model and its layout before it can
+     * bind a single row. Cached process-wide by the {@link InstantMetadataCache}.
+     */
+    static class Metadata {
+        final Locale locale;
+        final InstantBinder<?> binder;
+        final SparseArray<Meta> viewIdsAndMeta;
+        final IdAccessor idAccessor;
+
+        Metadata(final Locale locale, final InstantBinder<?> binder,
+                final SparseArray<Meta> viewIdsAndMeta, final IdAccessor idAccessor) {
+            this.locale = locale;
+            this.binder = binder;
+            this.viewIdsAndMeta = viewIdsAndMeta;
+            this.idAccessor = idAccessor;
+        }
+    }
+
+    private Metadata createMetadata(final Locale locale) {
+        mViewIdsAndMetaCache = new SparseArray<Meta>();
+        InstantBinder<T> binder = findGeneratedBinder();
+        if (binder != null) {
+            readGeneratedBindings(binder);
+        } else {
+            findAnnotatedMembers();
+        }
+
+        int size = mViewIdsAndMetaCache.size();
+        for (int i = 0; i < size; i++) {
+            mViewIdsAndMetaCache.valueAt(i).resolvePatterns(mContext);
+        }
+
+        // Binders generated by older versions of the processor do not read ids
+        mIdAccessor = binder instanceof InstantIdBinder ?
+                IdAccessor.forBinder((InstantIdBinder<?>) binder) : findIdMember();
+
+        return new Metadata(locale, binder, mViewIdsAndMetaCache, mIdAccessor);
+    }
+
+    private void useMetadata(final Metadata metadata) {
+        mViewIdsAndMetaCache = metadata.viewIdsAndMeta;
+        mIdAccessor = metadata.idAccessor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private InstantBinder<T> findGeneratedBinder() {
+        String binderName = mDataType.getName() + InstantBinder.SUFFIX;
+        InstantBinder<T> binder = null;
 
-        Meta(final Annotation annotation, final Method method) {
-            this.annotation = annotation;
-            this.method = method;
+        try {
+            Class<?> binderClass = Class.forName(binderName, true, mDataType.getClassLoader());
+            binder = (InstantBinder<T>) binderClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            // No generated binder, we'll fall back to reflection
+        } catch (NoSuchMethodException e) {
+            Log.w(LOG_TAG, binderName + " has no constructor without parameters, " +
+                    "falling back to reflection.");
+        } catch (InstantiationException e) {
+            Log.w(LOG_TAG, "Cannot instantiate " + binderName + ", falling back to reflection.");
+        } catch (IllegalAccessException e) {
+            Log.w(LOG_TAG, "Cannot access " + binderName + ", falling back to reflection.");
+        } catch (InvocationTargetException e) {
+            Log.w(LOG_TAG, "Cannot instantiate " + binderName + ", falling back to reflection.",
+                    e.getCause());
+        }
+
+        if (DEBUG) {
+            Log.d(LOG_TAG, binder != null ? "Using " + binderName : "Using reflection");
         }
+
+        return binder;
     }
 
-    private void findAnnotatedMethods() {
-        Class<?> clazz = mDataType;
-        do {
+    private void readGeneratedBindings(final InstantBinder<T> binder) {
+        InstantBinder.Binding[] bindings = binder.getBindings();
+        for (int i = 0; i < bindings.length; i++) {
+            mViewIdsAndMetaCache.append(bindings[i].viewId,
+                    new Meta(bindings[i], MemberAccessor.forBinder(binder, i)));
+        }
+
+        if (DEBUG) {
+            Log.d(LOG_TAG, String.format("Found %d generated binding(s)", bindings.length));
+        }
+    }
+
+    private void findAnnotatedMembers() {
+        for (Class<?> clazz : getHierarchy(mDataType)) {
             findAnnotatedMethods(clazz);
-            clazz = clazz.getSuperclass();
-        } while (!clazz.equals(Object.class));
+            findAnnotatedFields(clazz);
+        }
 
         if (DEBUG) {
-            Log.d(LOG_TAG, String.format("Found %d method(s)", mViewIdsAndMetaCache.size()));
+            Log.d(LOG_TAG, String.format("Found %d member(s)", mViewIdsAndMetaCache.size()));
         }
     }
 
+    /*
+     * Classes are scanned up to Object, interfaces along with the interfaces they extend.
+     */
+    private static List<Class<?>> getHierarchy(final Class<?> dataType) {
+        List<Class<?>> hierarchy = new ArrayList<Class<?>>();
+        if (dataType.isInterface()) {
+            hierarchy.add(dataType);
+            for (int i = 0; i < hierarchy.size(); i++) {
+                for (Class<?> superInterface : hierarchy.get(i).getInterfaces()) {
+                    if (!hierarchy.contains(superInterface)) {
+                        hierarchy.add(superInterface);
+                    }
+                }
+            }
+        } else {
+            Class<?> clazz = dataType;
+            do {
+                hierarchy.add(clazz);
+                clazz = clazz.getSuperclass();
+            } while (clazz != null && !clazz.equals(Object.class));
+        }
+        return hierarchy;
+    }
+
     private void findAnnotatedMethods(Class<?> clazz) {
         if (DEBUG) {
             Log.d(LOG_TAG, "Looking for methods in " + clazz.getName());
@@ -256,17 +1275,93 @@ class InstantAdapterCore<T> {
                     assertNonVoidReturnType(method);
 
                     // TODO Check if view type is compatible with the annotation
-                    Meta meta = new Meta(annotation, method);
+                    Meta meta;
                     if (annotation instanceof InstantText) {
-                        mViewIdsAndMetaCache.append(((InstantText) annotation).viewId(), meta);
+                        meta = new Meta((InstantText) annotation, method.getName(),
+                                MemberAccessor.forMethod(method));
+                    } else {
+                        meta = new Meta((InstantImage) annotation, method.getName(),
+                                MemberAccessor.forMethod(method));
                     }
+
+                    // Bound straight from a Cursor column
+                    InstantColumn instantColumn = method.getAnnotation(InstantColumn.class);
+                    if (instantColumn != null) {
+                        meta.column = instantColumn.value();
+                        meta.columnType = method.getReturnType();
+                    }
+                    mViewIdsAndMetaCache.append(meta.viewId, meta);
                 }
             }
         }
     }
 
+    private void findAnnotatedFields(Class<?> clazz) {
+        Field[] declaredFields = clazz.getDeclaredFields();
+        for (Field field : declaredFields) {
+            InstantText instantText = field.getAnnotation(InstantText.class);
+            if (instantText != null) {
+                assertFieldIsPublic(field);
+                mViewIdsAndMetaCache.append(instantText.viewId(), new Meta(instantText,
+                        field.getName(), MemberAccessor.forField(field)));
+            }
+
+            InstantImage instantImage = field.getAnnotation(InstantImage.class);
+            if (instantImage != null) {
+                assertFieldIsPublic(field);
+                mViewIdsAndMetaCache.append(instantImage.viewId(), new Meta(instantImage,
+                        field.getName(), MemberAccessor.forField(field)));
+            }
+        }
+    }
+
+    private IdAccessor findIdMember() {
+        IdAccessor idAccessor = null;
+        String idMember = null;
+
+        for (Class<?> clazz : getHierarchy(mDataType)) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(InstantId.class)) {
+                    assertSingleIdMember(idMember, method.getName() + "()");
+                    assertMethodIsPublic(method);
+                    if (method.getParameterTypes().length > 0
+                            || !method.getReturnType().equals(Long.TYPE)) {
+                        throw new IllegalStateException(String.format(
+                                "%s.%s() should have no parameters and return a long",
+                                    mDataType.getSimpleName(), method.getName()));
+                    }
+                    idMember = method.getName() + "()";
+                    idAccessor = IdAccessor.forMethod(method);
+                }
+            }
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(InstantId.class)) {
+                    assertSingleIdMember(idMember, field.getName());
+                    assertFieldIsPublic(field);
+                    if (!field.getType().equals(Long.TYPE)) {
+                        throw new IllegalStateException(String.format("%s.%s should be a long",
+                                mDataType.getSimpleName(), field.getName()));
+                    }
+                    idMember = field.getName();
+                    idAccessor = IdAccessor.forField(field);
+                }
+            }
+        }
+
+        return idAccessor;
+    }
+
+    private void assertSingleIdMember(final String idMember, final String member) {
+        if (idMember != null) {
+            throw new IllegalStateException(String.format("%s has more than one @InstantId " +
+                    "member, found %s and %s", mDataType.getSimpleName(), idMember, member));
+        }
+    }
+
     private boolean isInstantAnnotation(final Annotation annotation) {
-        return annotation.annotationType().equals(InstantText.class);
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+        return annotationType.equals(InstantText.class)
+                || annotationType.equals(InstantImage.class);
     }
 
     private void assertMethodIsPublic(final Method method) {
@@ -276,6 +1371,13 @@ class InstantAdapterCore<T> {
         }
     }
 
+    private void assertFieldIsPublic(final Field field) {
+        if (!Modifier.isPublic(field.getModifiers())) {
+            throw new IllegalStateException(String.format("%s.%s should be public",
+                            mDataType.getSimpleName(), field.getName()));
+        }
+    }
+
     private void assertNoParamsOrSingleContextParam(final Method method) {
         Class<?>[] parameters = method.getParameterTypes();
         final int nParameters = parameters.length;
@@ -302,141 +1404,305 @@ class InstantAdapterCore<T> {
         }
     }
 
-    private void updateAnnotatedViews(final SparseArray<Holder> holders, final View parent,
-            final T instance, final int position) {
-        int nHolders = holders.size();
-        for (int i = 0; i < nHolders; i++) {
-            Holder holder = holders.valueAt(i);
-            Meta meta = holder.meta;
-            if (meta == null) continue; // ViewHandler-only views will have a null meta
+    private void executePlan(final Plan<T> plan, final Row row, final ViewGroup parent,
+            final View view, final T instance, final int position,
+            final boolean skipAnnotatedViews, final Prebound prebound,
+            final InstantMetrics.Listener listener) {
+        Holder[] holders = row.holders;
+        ViewHandler<T>[] viewHandlers = plan.viewHandlers;
+        long start = 0;
 
-            Object returnValue = invokeReflectedMethod(meta.method, instance);
+        for (int i = 0; i < plan.size; i++) {
+            Holder holder = holders[i];
+            ViewHandler<T> viewHandler = viewHandlers[i];
 
-            // Update view from data
-            Class<? extends View> viewType = holder.view.getClass();
-            if (TextView.class.isAssignableFrom(viewType)) {
-                updateTextView(holder, returnValue);
+            if (i < plan.nAnnotated && !skipAnnotatedViews) {
+                if (listener != null) start = System.nanoTime();
+                updateAnnotatedView(plan, i, holder, instance, viewHandler != null, prebound);
+                if (listener != null) {
+                    listener.onViewBound(mLayoutResourceId, plan.viewIds[i],
+                            System.nanoTime() - start);
+                }
             }
-
-            // Evaluators for child views
-            ViewHandler<T> viewHandler = mViewHandlers.get(holder.view.getId());
             if (viewHandler != null) {
-                viewHandler.handleView(mAdapter, parent, holder.view, instance, position);
+                if (listener != null) start = System.nanoTime();
+                viewHandler.handleView(mAdapter, view, holder.view, instance, position);
+                if (listener != null) {
+                    listener.onViewHandled(mLayoutResourceId, plan.viewIds[i],
+                            System.nanoTime() - start);
+                }
+            }
+        }
+
+        if (plan.layoutViewHandler != null) {
+            if (listener != null) start = System.nanoTime();
+            plan.layoutViewHandler.handleView(mAdapter, parent, view, instance, position);
+            if (listener != null) {
+                listener.onViewHandled(mLayoutResourceId, mLayoutResourceId,
+                        System.nanoTime() - start);
             }
         }
     }
 
-    private Object invokeReflectedMethod(final Method method, final T instance) {
-        Object returnValue = null;
+    private void updateAnnotatedView(final Plan<T> plan, final int slot, final Holder holder,
+            final T instance, final boolean hasViewHandler, final Prebound prebound) {
+        Meta meta = plan.metas[slot];
+        Object returnValue = prebound != null ?
+                prebound.values[slot] : meta.accessor.get(instance, mContext);
 
-        try {
-            Class<?>[] parameterTypes = method.getParameterTypes();
-            int nParameters = parameterTypes.length;
-            if (nParameters == 0) {
-                returnValue = method.invoke(instance);
-            } else if (nParameters == 1) {
-                returnValue = method.invoke(instance, mContext);
-            }
-        } catch (IllegalArgumentException e) {
-            e.printStackTrace();
-        } catch (IllegalAccessException e) {
-            e.printStackTrace();
-        } catch (InvocationTargetException e) {
-            e.printStackTrace();
+        // Views with handlers are always updated, the handler may have changed them
+        if (!hasViewHandler && holder.isShowing(returnValue)) {
+            mSkippedViewUpdateCount++;
+            return;
         }
 
-        return returnValue;
+        // Update view from data
+        if (meta.isImage) {
+            if (holder.imageTarget != null) {
+                getImageLoader().load(holder.imageTarget, returnValue, meta.placeholderResId);
+                holder.setValue(returnValue);
+            }
+        } else if (holder.textView != null) {
+            if (prebound != null) {
+                holder.textView.setText(prebound.texts[slot]);
+            } else {
+                updateTextView(holder, meta, plan.dateFormats[slot], returnValue);
+            }
+            holder.setValue(returnValue);
+        }
     }
 
-    private void updateTextView(final Holder holder, final Object returnValue) {
-        InstantText instantText = (InstantText) holder.meta.annotation;
-        TextView textView = (TextView) holder.view;
-        int viewId = textView.getId();
+    private void updateAnnotatedView(final Plan<T> plan, final int slot, final Holder holder,
+            final Cursor cursor, final int columnIndex, final boolean hasViewHandler) {
+        Meta meta = plan.metas[slot];
+        SimpleDateFormat simpleDateFormat = plan.dateFormats[slot];
 
-        String text = null;
-        if (returnValue != null) {
-            text = applyDatePattern(viewId, instantText, returnValue);
-            text = applyFormatString(viewId, instantText, text, returnValue);
-            if (text == null) {
-                text = returnValue.toString();
+        // Plain text is copied from the column without creating a String
+        if (holder.textView != null && !meta.isImage && !meta.isHtml
+                && simpleDateFormat == null && meta.formatPattern == null) {
+            if (!holder.copyText(cursor, columnIndex, hasViewHandler)) {
+                mSkippedViewUpdateCount++;
             }
+            return;
+        }
+
+        Object value = readColumn(cursor, columnIndex, meta.columnType);
+        if (!hasViewHandler && holder.isShowing(value)) {
+            mSkippedViewUpdateCount++;
+            return;
         }
 
-        textView.setText(instantText.isHtml() ? Html.fromHtml(text) : text);
+        if (meta.isImage) {
+            if (holder.imageTarget != null) {
+                getImageLoader().load(holder.imageTarget, value, meta.placeholderResId);
+                holder.setValue(value);
+            }
+        } else if (holder.textView != null) {
+            updateTextView(holder, meta, simpleDateFormat, value);
+            holder.setValue(value);
+        }
     }
 
-    private String applyDatePattern(final int viewId, final InstantText instantText,
-            final Object returnValue) {
-        int index = mDateFormatCache.indexOfKey(viewId);
-        SimpleDateFormat simpleDateFormat = null;
-        String text = null;
+    /*
+     * Reads a column as the type returned by the annotated method, Dates are read from
+     * milliseconds since the epoch.
+     */
+    private static Object readColumn(final Cursor cursor, final int columnIndex,
+            final Class<?> type) {
+        if (cursor.isNull(columnIndex)) {
+            return null;
+        } else if (type == Long.TYPE || type == Long.class) {
+            return cursor.getLong(columnIndex);
+        } else if (type == Integer.TYPE || type == Integer.class) {
+            return cursor.getInt(columnIndex);
+        } else if (type == Short.TYPE || type == Short.class) {
+            return cursor.getShort(columnIndex);
+        } else if (type == Double.TYPE || type == Double.class) {
+            return cursor.getDouble(columnIndex);
+        } else if (type == Float.TYPE || type == Float.class) {
+            return cursor.getFloat(columnIndex);
+        } else if (type == Boolean.TYPE || type == Boolean.class) {
+            return cursor.getInt(columnIndex) != 0;
+        } else if (Date.class.isAssignableFrom(type)) {
+            return new Date(cursor.getLong(columnIndex));
+        } else if (type == byte[].class) {
+            return cursor.getBlob(columnIndex);
+        }
+        return cursor.getString(columnIndex);
+    }
 
-        if (index > -1) {
-            simpleDateFormat = mDateFormatCache.get(viewId);
+    private void updateTextView(final Holder holder, final Meta meta,
+            final SimpleDateFormat simpleDateFormat, final Object returnValue) {
+        TextView textView = holder.textView;
+
+        if (returnValue == null) {
+            textView.setText(null);
+        } else if (meta.isHtml) {
+            String source = toText(mTextFormatter, meta, simpleDateFormat, returnValue);
+            textView.setText(renderHtml(meta.viewId, source));
+        } else if (simpleDateFormat == null && meta.formatPattern == null
+                && returnValue instanceof String) {
+            textView.setText((String) returnValue);
         } else {
-            int datePatternRes = instantText.datePatternResId();
-            String datePattern = datePatternRes != 0 ?
-                    mContext.getString(datePatternRes) : instantText.datePattern();
+            holder.setText(mTextFormatter.format(returnValue, simpleDateFormat,
+                    meta.formatPattern));
+        }
+    }
 
-            if (datePattern != null && !EMPTY_STRING.equals(datePattern)) {
-                simpleDateFormat = new SimpleDateFormat(datePattern, Locale.getDefault());
-                mDateFormatCache.put(viewId, simpleDateFormat);
-            }
+    private ImageLoader getImageLoader() {
+        if (mImageLoader == null) {
+            mImageLoader = new ImageLoader(mContext);
         }
+        return mImageLoader;
+    }
 
-        if (simpleDateFormat != null) {
-            text = simpleDateFormat.format(returnValue);
+    private Spanned renderHtml(final int viewId, final String source) {
+        InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
+        if (listener == null) {
+            return mHtmlCache.render(viewId, source);
         }
 
-        return text;
+        Spanned spanned = mHtmlCache.get(viewId, source);
+        listener.onCacheAccess(mLayoutResourceId, InstantMetrics.CACHE_HTML, spanned != null);
+        if (spanned == null) {
+            spanned = Html.fromHtml(source);
+            mHtmlCache.put(viewId, source, spanned);
+        }
+        return spanned;
     }
 
-    private String applyFormatString(final int viewId, final InstantText instantText,
-            final String dateFormattedString, final Object returnValue) {
-        int index = mFormatStringCache.indexOfKey(viewId);
-        String formatString = null;
-        String formatted = dateFormattedString;
+    private static String toText(final TextFormatter textFormatter, final Meta meta,
+            final SimpleDateFormat simpleDateFormat, final Object value) {
+        if (simpleDateFormat == null && meta.formatPattern == null && value instanceof String) {
+            return (String) value;
+        }
+        return textFormatter.format(value, simpleDateFormat, meta.formatPattern).toString();
+    }
 
-        if (index > -1) {
-            formatString = mFormatStringCache.get(viewId);
-        } else {
-            int formatStringRes = instantText.formatStringResId();
-            formatString = formatStringRes != 0 ?
-                    mContext.getString(formatStringRes) : instantText.formatString();
-            mFormatStringCache.put(viewId, formatString);
+    /**
+     * Display values computed off the main thread for an instance. Values and texts are indexed
+     * like the annotated slots of the {@link Plan}.
+     */
+    private static class Prebound {
+        Object instance;
+        Object[] values;
+        CharSequence[] texts;
+    }
+
+    private Prebound findPrebound(final T instance, final int position) {
+        Prebound prebound = mPrebound.get(position);
+        if (prebound != null && prebound.instance == instance && instance != null) {
+            mPrebindHitCount++;
+            return prebound;
         }
+        mPrebindMissCount++;
+        return null;
+    }
 
-        if (formatString != null && !EMPTY_STRING.equals(formatString)) {
-            formatted = String.format(formatString, dateFormattedString != null ?
-                    dateFormattedString : returnValue);
+    @SuppressWarnings("unchecked")
+    private void schedulePrebind(final int position) {
+        if (mPrebindInFlight) {
+            mPendingPrebindPosition = position;
+            return;
         }
 
-        return formatted;
-    }
+        int window = mPrebindWindow;
+        int start = Math.max(0, position - window);
+        int end = Math.min(mAdapter.getCount(), position + window + 1);
 
-    private void executeViewHandlers(final SparseArray<Holder> holders,
-            final View parent, final View view, final T instance, final int position) {
-        int nViewHandlers = mViewHandlers.size();
-        for (int i = 0; i < nViewHandlers; i++) {
-            int viewId = mViewHandlers.keyAt(i);
-            ViewHandler<T> viewHandler = mViewHandlers.get(viewId);
+        // Forget rows that are far away from the one being bound
+        for (int i = mPrebound.size() - 1; i >= 0; i--) {
+            int key = mPrebound.keyAt(i);
+            if (key < position - 2 * window || key > position + 2 * window) {
+                mPrebound.removeAt(i);
+            }
+        }
 
-            if (viewHandler == null) continue;
+        int nMissing = 0;
+        for (int i = start; i < end; i++) {
+            if (mPrebound.get(i) == null) nMissing++;
+        }
+        if (nMissing == 0) {
+            return;
+        }
 
-            if (viewId == mLayoutResourceId) {
-                viewHandler.handleView(mAdapter, parent, view, instance, position);
-            } else {
-                Holder holder = holders.get(viewId);
-                View viewWithId = null;
-                if (holder != null) {
-                    viewWithId = holder.view;
-                } else {
-                    viewWithId = view.findViewById(viewId);
-                    holders.append(viewId, new Holder(viewWithId, null));
+        final int[] positions = new int[nMissing];
+        final Object[] instances = new Object[nMissing];
+        for (int i = start, j = 0; i < end; i++) {
+            if (mPrebound.get(i) == null) {
+                positions[j] = i;
+                instances[j] = mAdapter.getItem(i);
+                j++;
+            }
+        }
+
+        final int generation = mPrebindGeneration;
+        mPrebindInFlight = true;
+        mPrebindExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final Prebound[] prebound = new Prebound[instances.length];
+                for (int i = 0; i < instances.length; i++) {
+                    prebound[i] = prebind((T) instances[i]);
                 }
-                viewHandler.handleView(mAdapter, view, viewWithId, instance, position);
+
+                mPrebindHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishPrebound(generation, positions, prebound);
+                    }
+                });
+            }
+        });
+    }
+
+    /*
+     * Runs on the executor. Only one batch is in flight at a time, so the background formatters
+     * are never used concurrently.
+     */
+    private Prebound prebind(final T instance) {
+        int nAnnotated = mViewIdsAndMetaCache.size();
+        if (mPrebindTextFormatter == null) {
+            mPrebindTextFormatter = new TextFormatter();
+            mPrebindDateFormats = new SimpleDateFormat[nAnnotated];
+            for (int i = 0; i < nAnnotated; i++) {
+                mPrebindDateFormats[i] = newDateFormat(mViewIdsAndMetaCache.valueAt(i));
+            }
+        }
+
+        Prebound prebound = new Prebound();
+        prebound.instance = instance;
+        prebound.values = new Object[nAnnotated];
+        prebound.texts = new CharSequence[nAnnotated];
+
+        for (int i = 0; i < nAnnotated; i++) {
+            Meta meta = mViewIdsAndMetaCache.valueAt(i);
+            Object value = meta.accessor.get(instance, mContext);
+            prebound.values[i] = value;
+
+            if (value != null && !meta.isImage) {
+                String text = toText(mPrebindTextFormatter, meta, mPrebindDateFormats[i], value);
+                prebound.texts[i] = meta.isHtml ? mHtmlCache.render(meta.viewId, text) : text;
             }
         }
+
+        return prebound;
+    }
+
+    private void publishPrebound(final int generation, final int[] positions,
+            final Prebound[] prebound) {
+        mPrebindInFlight = false;
+        if (generation == mPrebindGeneration && mPrebindWindow > 0) {
+            for (int i = 0; i < positions.length; i++) {
+                mPrebound.put(positions[i], prebound[i]);
+            }
+        }
+
+        int pendingPosition = mPendingPrebindPosition;
+        mPendingPrebindPosition = -1;
+        if (pendingPosition != -1 && mPrebindWindow > 0) {
+            schedulePrebind(pendingPosition);
+        }
     }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.content.Context;
+
+/**
+ * Interface implemented by the binders generated by the <b>adapter-kit-processor</b> annotation
+ * processor. For every model with {@link InstantText} or {@link InstantImage} annotated members,
+ * the processor emits a {@code public final} class named after the model's binary name followed
+ * by {@link #SUFFIX} ({@code Outer$Model$$InstantBinder} for nested models), in the model's
+ * package and with a constructor without parameters. When such a class is present,
+ * {@link InstantAdapterCore} uses it instead of scanning the model through reflection.
+ * <ul>
+ *   <li>{@link #getBindings()} returns a {@link Binding} for every annotated field or method,
+ *      including the inherited ones, with the attributes of its annotation.</li>
+ *   <li>{@link #getValue(int, Object, Context)} reads the member of a {@link Binding} directly,
+ *      passing the {@link Context} to methods that accept one.</li>
+ *   <li>Models with an {@link InstantId} annotated member get a binder that implements
+ *      {@link InstantIdBinder} instead, which also reads the id directly.</li>
+ * </ul>
+ * <p>
+ * You are not expected to implement this interface by hand.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> The model that the binder was generated for.
+ */
+public interface InstantBinder<T> {
+
+    /**
+     * Suffix appended to the model's binary name to form the name of its generated binder.
+     */
+    String SUFFIX = "$$InstantBinder";
+
+    /**
+     * Returns the {@link InstantText} and {@link InstantImage} bindings declared by the model,
+     * including the ones inherited from its superclasses.
+     *
+     * @return An array of {@link Binding}s, one for each annotated member.
+     */
+    Binding[] getBindings();
+
+    /**
+     * Returns the value of the annotated method at the given index.
+     *
+     * @param index Index of the {@link Binding} in the array returned by {@link #getBindings()}.
+     * @param instance The instance whose method has to be called.
+     * @param context The {@link Context} passed to methods that accept one.
+     *
+     * @return The value returned by the annotated method.
+     */
+    Object getValue(int index, T instance, Context context);
+
+    /**
+     * Attributes of a single {@link InstantText} or {@link InstantImage} annotated member, as
+     * seen at compile time.
+     */
+    public static final class Binding {
+        public final String member;
+        public final int viewId;
+        public final int datePatternResId;
+        public final String datePattern;
+        public final int formatStringResId;
+        public final String formatString;
+        public final boolean isHtml;
+        public final boolean isImage;
+        public final int placeholderResId;
+
+        public Binding(final String member, final int viewId, final int datePatternResId,
+                final String datePattern, final int formatStringResId,
+                final String formatString, final boolean isHtml) {
+            this(member, viewId, datePatternResId, datePattern, formatStringResId, formatString,
+                    isHtml, false, 0);
+        }
+
+        public Binding(final String member, final int viewId, final int datePatternResId,
+                final String datePattern, final int formatStringResId,
+                final String formatString, final boolean isHtml, final boolean isImage,
+                final int placeholderResId) {
+            this.member = member;
+            this.viewId = viewId;
+            this.datePatternResId = datePatternResId;
+            this.datePattern = datePattern;
+            this.formatStringResId = formatStringResId;
+            this.formatString = formatString;
+            this.isHtml = isHtml;
+            this.isImage = isImage;
+            this.placeholderResId = placeholderResId;
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import android.database.Cursor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates {@code public} fields or setters in your model class that are populated from a
+ * {@link Cursor} column by an {@link InstantColumnCursorAdapter}, or getters of a model
+ * interface that are bound straight from a column (see below). Setters must be
+ * {@code public} and have a single parameter. Fields and parameters can be of the following
+ * types:
+ *
+ * <ol>
+ *   <li>{@code long}, {@code int}, {@code short}, {@code double}, {@code float} and
+ *      {@code boolean} (non-zero values are {@code true}), and their wrappers, which are set to
+ *      {@code null} for {@code NULL} values.</li>
+ *   <li>{@link String}.</li>
+ *   <li>{@code byte[]}.</li>
+ * </ol>
+ *
+ * <p>
+ * <b>Example</b>
+ * <pre>
+ * class Book {
+ *     &#064;InstantColumn("_id")
+ *     public long id;
+ *
+ *     &#064;InstantColumn("title")
+ *     &#064;InstantText(viewId = R.id.title)
+ *     public String title;
+ * }
+ * </pre>
+ * </p>
+ *
+ * <p>
+ * If your model is an interface, annotate its getters with both {@link InstantColumn} and
+ * {@link InstantText} (or {@link InstantImage}) instead. Such getters are never called, the
+ * views are bound straight from the columns and no instances of your model are created.
+ * Columns are read as the return type of the getter, {@link java.util.Date}s from milliseconds
+ * since the epoch. Plain text is copied out of the {@link Cursor} without creating
+ * {@link String}s. In this mode,
+ * </p>
+ *
+ * <ol>
+ *   <li>only the annotated methods of the interface and its super-interfaces are bound.</li>
+ *   <li>{@link InstantColumnCursorAdapter#getInstance(Cursor)} returns {@code null} and
+ *      {@link ViewHandler}s receive {@code null} for the instance.</li>
+ * </ol>
+ *
+ * <p>
+ * <b>Example</b>
+ * <pre>
+ * interface BookRow {
+ *     &#064;InstantColumn("title")
+ *     &#064;InstantText(viewId = R.id.title)
+ *     String getTitle();
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.FIELD })
+public @interface InstantColumn {
+    public String value();
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * An {@link InstantCursorAdapter} that populates your model from the {@link Cursor} through its
+ * {@link InstantColumn} annotated members, so you do not have to implement
+ * {@link #getInstance(Cursor)}. Column indices are looked up once per {@link Cursor} rather than
+ * once per row. Your model needs a constructor without parameters.
+ * <p>
+ * Combined with {@link #setReuseInstances(boolean)}, rows are bound without allocating an
+ * instance of your model.
+ * </p>
+ * <p>
+ * For read-only lists, declare your model as an interface instead and annotate its methods
+ * with both {@link InstantColumn} and {@link InstantText} (or {@link InstantImage}). Rows are
+ * then bound straight from the columns without any instance at all, plain text is copied out of
+ * the Cursor without creating Strings. {@link #getInstance(Cursor)} returns {@code null} and
+ * {@link ViewHandler}s receive {@code null} for the instance in this mode.
+ * </p>
+ *
+ * <pre>
+ * interface BookRow {
+ *     &#064;InstantColumn("title")
+ *     &#064;InstantText(viewId = R.id.title)
+ *     String getTitle();
+ * }
+ * </pre>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> The model you want to back using the {@link InstantColumnCursorAdapter}.
+ */
+public class InstantColumnCursorAdapter<T> extends InstantCursorAdapter<T> {
+
+    private Constructor<?> mConstructor;
+    private ColumnMapping mColumnMapping;
+
+    // Column indices of the last Cursor read from
+    private Cursor mResolvedCursor;
+    private int[] mColumnIndices;
+
+    /**
+     * Constructs a new {@link InstantColumnCursorAdapter} backed by your {@link Cursor}.
+     *
+     * @param context The {@link Context} to use.
+     * @param layoutResourceId The resource id of your XML layout.
+     * @param dataType The data type backed by your adapter.
+     * @param cursor The {@link Cursor} to be used.
+     *
+     * @throws IllegalStateException If {@code dataType} has no constructor without parameters
+     *          or an {@link InstantColumn} annotated member is not supported.
+     */
+    public InstantColumnCursorAdapter(final Context context, final int layoutResourceId,
+            final Class<?> dataType, final Cursor cursor) {
+        super(context, layoutResourceId, dataType, cursor);
+        if (dataType.isInterface()) {
+            setBindFromColumns(true);
+            return;
+        }
+        mColumnMapping = ColumnMapping.get(dataType);
+
+        try {
+            mConstructor = dataType.getDeclaredConstructor();
+            mConstructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(dataType.getSimpleName() + " should have a " +
+                    "constructor without parameters, static if it is a nested class.");
+        }
+    }
+
+    /**
+     * Creates an instance of your model and populates it from the Cursor's current row.
+     */
+    @Override
+    public T getInstance(final Cursor cursor) {
+        return getInstance(cursor, null);
+    }
+
+    /**
+     * Populates {@code reuse}, or a new instance if it is {@code null}, from the Cursor's
+     * current row.
+     */
+    @Override
+    public T getInstance(final Cursor cursor, final T reuse) {
+        if (mColumnMapping == null) {
+            return null;
+        }
+
+        if (cursor != mResolvedCursor) {
+            mColumnIndices = mColumnMapping.resolve(cursor);
+            mResolvedCursor = cursor;
+        }
+
+        T instance = reuse != null ? reuse : newInstance();
+        mColumnMapping.read(cursor, mColumnIndices, instance);
+        return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T newInstance() {
+        try {
+            return (T) mConstructor.newInstance();
+        } catch (InstantiationException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
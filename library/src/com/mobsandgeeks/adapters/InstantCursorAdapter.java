@@ -16,10 +16,18 @@ package com.mobsandgeeks.adapters;
 
 import android.content.Context;
 import android.database.Cursor;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.AbsListView;
 import android.widget.CursorAdapter;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 /**
  * Class constructs a custom {@link CursorAdapter} by mapping <b>Instant*</b> annotated
  * methods from you model to {@link View}s on your layout. Methods can be annotated using the
@@ -33,6 +41,25 @@ public abstract class InstantCursorAdapter<T> extends CursorAdapter {
 
     private InstantAdapterCore<T> mInstantAdapterCore;
 
+    // Instances
+    private boolean mBindFromColumns;
+    private boolean mReuseInstances;
+    private LinkedHashMap<Integer, T> mInstanceCache;
+    private long mInstanceCacheHitCount;
+    private long mInstanceCacheMissCount;
+
+    // Re-query
+    private Query mQuery;
+    private long mRequeryDelayMillis;
+    private Executor mRequeryExecutor;
+    private Handler mHandler;
+    private Runnable mRequeryRunnable;
+    private boolean mRequeryScheduled;
+    private boolean mRequeryRunning;
+    private boolean mContentChangedWhileRunning;
+    private int mRequeryGeneration;
+    private long mRequeryCount;
+
     /**
      * Constructs a new {@link InstantCursorAdapter} backed by your {@link Cursor}.
      * 
@@ -53,8 +80,30 @@ public abstract class InstantCursorAdapter<T> extends CursorAdapter {
      */
     @Override
     public final void bindView(final View view, final Context context, final Cursor cursor) {
-        T instance = getInstance(cursor);
-        mInstantAdapterCore.bindToView(null, view, instance, cursor.getPosition());
+        if (mBindFromColumns) {
+            mInstantAdapterCore.bindCursorToView(null, view, cursor);
+            return;
+        }
+
+        int position = cursor.getPosition();
+        T instance;
+
+        if (mInstanceCache != null) {
+            instance = mInstanceCache.get(position);
+            if (instance != null) {
+                mInstanceCacheHitCount++;
+            } else {
+                mInstanceCacheMissCount++;
+                instance = getInstance(cursor);
+                mInstanceCache.put(position, instance);
+            }
+        } else if (mReuseInstances) {
+            instance = getInstance(cursor, mInstantAdapterCore.getBoundInstance(view));
+        } else {
+            instance = getInstance(cursor);
+        }
+
+        mInstantAdapterCore.bindToView(null, view, instance, position);
     }
 
     /**
@@ -65,6 +114,14 @@ public abstract class InstantCursorAdapter<T> extends CursorAdapter {
         return mInstantAdapterCore.createNewView(context, parent);
     }
 
+    /**
+     * Binds rows straight from the Cursor's columns instead of instances returned by
+     * {@link #getInstance(Cursor)}.
+     */
+    void setBindFromColumns(final boolean bindFromColumns) {
+        mBindFromColumns = bindFromColumns;
+    }
+
     /**
      * Sets a {@link ViewHandler} for a View with the given id.
      *
@@ -75,6 +132,165 @@ public abstract class InstantCursorAdapter<T> extends CursorAdapter {
         mInstantAdapterCore.setViewHandler(viewId, viewHandler);
     }
 
+    /**
+     * Returns the number of annotated views that were not updated because the value they display
+     * did not change.
+     *
+     * @return Number of skipped view updates.
+     */
+    public long getSkippedViewUpdateCount() {
+        return mInstantAdapterCore.getSkippedViewUpdateCount();
+    }
+
+    /**
+     * Runs the query of an {@link InstantCursorAdapter} that re-queries on content changes, see
+     * {@link InstantCursorAdapter#setRequery(Query, long)}.
+     */
+    public interface Query {
+
+        /**
+         * Runs the query, called on a background thread.
+         *
+         * @return A new {@link Cursor}, {@code null} to keep the current one.
+         */
+        Cursor query();
+    }
+
+    /**
+     * Re-queries on a shared background thread whenever the content of the Cursor changes, see
+     * {@link #setRequery(Query, long, Executor)}.
+     *
+     * @param query The {@link Query} to run, {@code null} to stop re-querying.
+     * @param delayMillis Time during which content changes are coalesced into one re-query.
+     */
+    public void setRequery(final Query query, final long delayMillis) {
+        setRequery(query, delayMillis, BackgroundExecutor.get());
+    }
+
+    /**
+     * Re-queries whenever the content of the Cursor changes, for instance when the rows of a
+     * {@link android.content.ContentProvider} it was queried from are written. The first change
+     * schedules a re-query {@code delayMillis} later, changes in the meantime are coalesced
+     * into it and changes while a re-query runs schedule one more. The query runs on the given
+     * {@link Executor}, its Cursor is filled there as well and then replaces the current one
+     * through {@link #changeCursor(Cursor)} on the main thread. Rows are bound again, but
+     * Views whose values did not change are not updated.
+     * <p>
+     * The Cursor must be registered for notifications, usually through
+     * {@link Cursor#setNotificationUri(android.content.ContentResolver, android.net.Uri)}.
+     * </p>
+     *
+     * @param query The {@link Query} to run, {@code null} to stop re-querying.
+     * @param delayMillis Time during which content changes are coalesced into one re-query.
+     * @param executor The {@link Executor} to run the query on.
+     *
+     * @throws IllegalArgumentException If {@code delayMillis} is negative or {@code executor}
+     *          is {@code null}.
+     */
+    public void setRequery(final Query query, final long delayMillis, final Executor executor) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("'delayMillis' cannot be negative.");
+        } else if (executor == null) {
+            throw new IllegalArgumentException("'executor' cannot be null.");
+        }
+
+        if (mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+            mRequeryRunnable = new Runnable() {
+                @Override
+                public void run() {
+                    mRequeryScheduled = false;
+                    requery();
+                }
+            };
+        }
+
+        // Results of a re-query still running are discarded
+        mRequeryGeneration++;
+        mHandler.removeCallbacks(mRequeryRunnable);
+        mRequeryScheduled = false;
+        mRequeryRunning = false;
+        mContentChangedWhileRunning = false;
+
+        mQuery = query;
+        mRequeryDelayMillis = delayMillis;
+        mRequeryExecutor = executor;
+    }
+
+    /**
+     * Returns the number of re-queries that replaced the Cursor.
+     *
+     * @return Number of re-queries.
+     */
+    public long getRequeryCount() {
+        return mRequeryCount;
+    }
+
+    @Override
+    protected void onContentChanged() {
+        if (mQuery == null) {
+            super.onContentChanged();
+        } else if (mRequeryRunning) {
+            mContentChangedWhileRunning = true;
+        } else if (!mRequeryScheduled) {
+            mRequeryScheduled = true;
+            mHandler.postDelayed(mRequeryRunnable, mRequeryDelayMillis);
+        }
+    }
+
+    private void requery() {
+        final Query query = mQuery;
+        final int generation = mRequeryGeneration;
+        mRequeryRunning = true;
+
+        mRequeryExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Cursor cursor = null;
+                try {
+                    cursor = query.query();
+                    if (cursor != null) {
+                        // Fills the cursor window here rather than on the main thread
+                        cursor.getCount();
+                    }
+                } catch (RuntimeException e) {
+                    Log.w(InstantAdapterCore.LOG_TAG, "Cannot re-query", e);
+                    if (cursor != null) {
+                        cursor.close();
+                        cursor = null;
+                    }
+                }
+
+                final Cursor newCursor = cursor;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onRequeried(generation, newCursor);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onRequeried(final int generation, final Cursor cursor) {
+        if (generation != mRequeryGeneration) {
+            if (cursor != null) {
+                cursor.close();
+            }
+            return;
+        }
+
+        mRequeryRunning = false;
+        if (cursor != null) {
+            mRequeryCount++;
+            changeCursor(cursor);
+        }
+        if (mContentChangedWhileRunning) {
+            mContentChangedWhileRunning = false;
+            onContentChanged();
+        }
+    }
+
     /**
      * Method returns an instance of your model from the Cursor.
      * 
@@ -84,4 +300,202 @@ public abstract class InstantCursorAdapter<T> extends CursorAdapter {
      */
     public abstract T getInstance(Cursor cursor);
 
+    /**
+     * Method returns an instance of your model from the Cursor, populating the given instance if
+     * it is not {@code null}. Called instead of {@link #getInstance(Cursor)} once instance reuse
+     * has been enabled through {@link #setReuseInstances(boolean)}, the default implementation
+     * ignores {@code reuse} and calls {@link #getInstance(Cursor)}.
+     *
+     * @param cursor The cursor backed by the {@link InstantCursorAdapter}.
+     * @param reuse The instance the row was previously bound to, {@code null} for a new row.
+     *
+     * @return An instance associated with the cursor's current position, usually {@code reuse}.
+     */
+    public T getInstance(final Cursor cursor, final T reuse) {
+        return getInstance(cursor);
+    }
+
+    /**
+     * Lets every row reuse the instance it was previously bound to, which is handed over to
+     * {@link #getInstance(Cursor, Object)} to be populated from the Cursor. Saves allocating an
+     * instance every time a row is bound.
+     * <p>
+     * Enable this only if neither your {@link ViewHandler}s nor anything else holds on to the
+     * instances, or to the values returned by their annotated members, beyond a bind. Instances
+     * are not reused while the instance cache is enabled.
+     * </p>
+     * <p>
+     * A reused instance may hand back the very same member objects on every bind. Views showing
+     * immutable values ({@link String}s, boxed primitives and enums) are only updated when the
+     * value changed, values of any other type (such as {@link java.util.Date}s) are formatted
+     * and shown again on every bind, so they can safely be modified in place. Encoded images
+     * ({@code byte[]}) are cached by identity though, do not fill the same array in place.
+     * </p>
+     *
+     * @param reuse {@code true} to reuse instances, {@code false} otherwise.
+     */
+    public void setReuseInstances(final boolean reuse) {
+        mReuseInstances = reuse;
+    }
+
+    /**
+     * Sets the number of instances kept in a cache keyed by position, so that rows scrolling
+     * back into view do not have to be read from the Cursor again. The least recently used
+     * instances are evicted first. The cache is cleared whenever the data set changes, which
+     * includes {@link #changeCursor(Cursor)} and {@link #swapCursor(Cursor)}.
+     *
+     * @param maxSize Maximum number of cached instances, {@code 0} disables caching.
+     *
+     * @throws IllegalArgumentException If {@code maxSize} is negative.
+     */
+    public void setInstanceCacheSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' cannot be negative.");
+        }
+
+        mInstanceCache = maxSize == 0 ? null : new LinkedHashMap<Integer, T>(
+                Math.min(maxSize, 64), 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, T> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of times an instance was found in the instance cache.
+     *
+     * @return Number of instance cache hits.
+     */
+    public long getInstanceCacheHitCount() {
+        return mInstanceCacheHitCount;
+    }
+
+    /**
+     * Returns the number of times an instance had to be read from the Cursor because it was not
+     * in the instance cache.
+     *
+     * @return Number of instance cache misses.
+     */
+    public long getInstanceCacheMissCount() {
+        return mInstanceCacheMissCount;
+    }
+
+    @Override
+    public void notifyDataSetChanged() {
+        if (mInstanceCache != null) {
+            mInstanceCache.clear();
+        }
+        super.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyDataSetInvalidated() {
+        if (mInstanceCache != null) {
+            mInstanceCache.clear();
+        }
+        super.notifyDataSetInvalidated();
+    }
+
+    /**
+     * Sets the size of the cache that holds HTML rendered for {@code isHtml} bindings, measured
+     * in characters.
+     *
+     * @param maxSize Maximum size of the cache, {@code 0} disables caching.
+     */
+    public void setHtmlCacheSize(final int maxSize) {
+        mInstantAdapterCore.setHtmlCacheSize(maxSize);
+    }
+
+    /**
+     * Returns the number of times rendered HTML was found in the cache.
+     *
+     * @return Number of HTML cache hits.
+     */
+    public long getHtmlCacheHitCount() {
+        return mInstantAdapterCore.getHtmlCacheHitCount();
+    }
+
+    /**
+     * Returns the number of times HTML had to be rendered because it was not in the cache.
+     *
+     * @return Number of HTML cache misses.
+     */
+    public long getHtmlCacheMissCount() {
+        return mInstantAdapterCore.getHtmlCacheMissCount();
+    }
+
+    /**
+     * Inflates rows ahead of time in idle slices of the main thread, so that the first screen
+     * of rows does not have to be inflated at once.
+     *
+     * @param parent The {@link android.widget.ListView} the adapter will be set on.
+     * @param count Number of rows to inflate, usually the number of rows visible on screen.
+     */
+    public void preinflate(final ViewGroup parent, final int count) {
+        mInstantAdapterCore.preinflate(parent, count);
+    }
+
+    /**
+     * Inflates rows ahead of time on the given {@link Executor}. Only use this if none of the
+     * Views in your row layout require the main thread when they are constructed.
+     *
+     * @param parent The {@link android.widget.ListView} the adapter will be set on.
+     * @param count Number of rows to inflate, usually the number of rows visible on screen.
+     * @param executor The {@link Executor} to inflate the rows on.
+     */
+    public void preinflate(final ViewGroup parent, final int count, final Executor executor) {
+        mInstantAdapterCore.preinflate(parent, count, executor);
+    }
+
+    /**
+     * Returns the number of rows that were taken from the pre-inflated rows.
+     *
+     * @return Number of pre-inflated rows used.
+     */
+    public long getPreinflatedHitCount() {
+        return mInstantAdapterCore.getPreinflatedHitCount();
+    }
+
+    /**
+     * Returns the number of rows that had to be inflated on demand after pre-inflation was
+     * requested.
+     *
+     * @return Number of rows inflated on demand.
+     */
+    public long getPreinflatedMissCount() {
+        return mInstantAdapterCore.getPreinflatedMissCount();
+    }
+
+    /**
+     * Sets an {@link InstantViewPool} shared with other adapters that use the same row layout.
+     *
+     * @param viewPool The shared {@link InstantViewPool}, {@code null} to stop using a pool.
+     */
+    public void setViewPool(final InstantViewPool viewPool) {
+        mInstantAdapterCore.setViewPool(viewPool);
+    }
+
+    /**
+     * Moves the rows of the list this adapter is set on into the {@link InstantViewPool}. Call
+     * this when the list is going away, for instance from {@code Fragment.onDestroyView()}.
+     *
+     * @param listView The list this adapter is set on.
+     */
+    public void releaseViews(final AbsListView listView) {
+        mInstantAdapterCore.releaseViews(listView);
+    }
+
+    /**
+     * Sets a {@link InstantMetrics.Listener} that receives this adapter's inflate and bind
+     * timings. It takes precedence over the global listener set on {@link InstantMetrics}.
+     *
+     * @param listener The {@link InstantMetrics.Listener}, {@code null} to remove it.
+     */
+    public void setMetricsListener(final InstantMetrics.Listener listener) {
+        mInstantAdapterCore.setMetricsListener(listener);
+    }
+
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes the difference between two lists using Myers' O(ND) algorithm in linear space, where
+ * N is the combined length of the lists and D the number of items inserted or removed. Moved
+ * items are reported as removed and inserted. Items that are found in both lists are compared
+ * once more to tell whether their contents changed.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public final class InstantDiff {
+
+    /**
+     * Compares items using {@link Object#equals(Object)}, an item whose contents changed has to be
+     * replaced by an instance that is not equal to it.
+     */
+    @SuppressWarnings("rawtypes")
+    public static final ItemCallback EQUALS = new ItemCallback<Object>() {
+
+        @Override
+        public boolean areItemsTheSame(final Object oldItem, final Object newItem) {
+            return oldItem == null ? newItem == null : oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(final Object oldItem, final Object newItem) {
+            return true;
+        }
+    };
+
+    private InstantDiff() {
+        // No instances
+    }
+
+    /**
+     * Computes the difference between two lists. Neither list may be modified while the
+     * difference is being computed.
+     *
+     * @param oldList The current list.
+     * @param newList The list replacing it.
+     * @param callback The {@link ItemCallback} that compares the items.
+     *
+     * @return The {@link Result}.
+     */
+    public static <T> Result calculate(final List<T> oldList, final List<T> newList,
+            final ItemCallback<? super T> callback) {
+        if (oldList == null) {
+            throw new IllegalArgumentException("'oldList' cannot be null.");
+        } else if (newList == null) {
+            throw new IllegalArgumentException("'newList' cannot be null.");
+        } else if (callback == null) {
+            throw new IllegalArgumentException("'callback' cannot be null.");
+        }
+
+        int oldSize = oldList.size();
+        int newSize = newList.size();
+        int[] oldToNew = new int[oldSize];
+        int[] newToOld = new int[newSize];
+        Arrays.fill(oldToNew, Result.NO_POSITION);
+        Arrays.fill(newToOld, Result.NO_POSITION);
+
+        int max = oldSize + newSize + 1;
+        int[] forward = new int[2 * max + 1];
+        int[] backward = new int[2 * max + 1];
+
+        List<int[]> ranges = new ArrayList<int[]>();
+        ranges.add(new int[] { 0, oldSize, 0, newSize });
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.remove(ranges.size() - 1);
+            int oldStart = range[0];
+            int oldEnd = range[1];
+            int newStart = range[2];
+            int newEnd = range[3];
+
+            // Common prefix and suffix
+            while (oldStart < oldEnd && newStart < newEnd && callback.areItemsTheSame(
+                    oldList.get(oldStart), newList.get(newStart))) {
+                match(oldToNew, newToOld, oldStart++, newStart++);
+            }
+            while (oldStart < oldEnd && newStart < newEnd && callback.areItemsTheSame(
+                    oldList.get(oldEnd - 1), newList.get(newEnd - 1))) {
+                match(oldToNew, newToOld, --oldEnd, --newEnd);
+            }
+            if (oldStart == oldEnd || newStart == newEnd) {
+                continue;
+            }
+
+            int[] snake = middleSnake(oldList, newList, callback, oldStart, oldEnd,
+                    newStart, newEnd, forward, backward, max);
+            for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+                match(oldToNew, newToOld, x, y);
+            }
+            ranges.add(new int[] { oldStart, snake[0], newStart, snake[1] });
+            ranges.add(new int[] { snake[2], oldEnd, snake[3], newEnd });
+        }
+
+        boolean[] changed = new boolean[newSize];
+        for (int i = 0; i < newSize; i++) {
+            int oldPosition = newToOld[i];
+            changed[i] = oldPosition == Result.NO_POSITION
+                    || !callback.areContentsTheSame(oldList.get(oldPosition), newList.get(i));
+        }
+
+        return new Result(oldToNew, newToOld, changed);
+    }
+
+    private static void match(final int[] oldToNew, final int[] newToOld,
+            final int oldPosition, final int newPosition) {
+        oldToNew[oldPosition] = newPosition;
+        newToOld[newPosition] = oldPosition;
+    }
+
+    /*
+     * Finds the snake in the middle of a shortest edit script for the given ranges, which must
+     * differ at both ends. Diagonals are numbered k = x - y relative to the start of the ranges,
+     * the backward search uses the same numbering relative to their end. Paths leaving the
+     * ranges are never cheaper than the ones kept, but they must not be taken for an overlap.
+     *
+     * Returns { startX, startY, endX, endY } in list positions.
+     */
+    private static <T> int[] middleSnake(final List<T> oldList, final List<T> newList,
+            final ItemCallback<? super T> callback, final int oldStart, final int oldEnd,
+            final int newStart, final int newEnd, final int[] forward, final int[] backward,
+            final int offset) {
+        int n = oldEnd - oldStart;
+        int m = newEnd - newStart;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+
+        forward[offset + 1] = 0;
+        backward[offset + 1] = 0;
+
+        for (int d = 0, dMax = (n + m + 1) / 2; d <= dMax; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])
+                        ? forward[offset + k + 1] : forward[offset + k - 1] + 1;
+                int y = x - k;
+                int startX = x;
+                int startY = y;
+                while (x < n && y < m && callback.areItemsTheSame(
+                        oldList.get(oldStart + x), newList.get(newStart + y))) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+
+                int c = delta - k;
+                if (odd && c >= -(d - 1) && c <= d - 1 && x <= n && y <= m
+                        && isInside(backward[offset + c], c, n, m)
+                        && x >= n - backward[offset + c]) {
+                    return new int[] { oldStart + startX, newStart + startY,
+                            oldStart + x, newStart + y };
+                }
+            }
+
+            for (int c = -d; c <= d; c += 2) {
+                int u = c == -d || (c != d && backward[offset + c - 1] < backward[offset + c + 1])
+                        ? backward[offset + c + 1] : backward[offset + c - 1] + 1;
+                int w = u - c;
+                int startU = u;
+                int startW = w;
+                while (u < n && w < m && callback.areItemsTheSame(
+                        oldList.get(oldEnd - u - 1), newList.get(newEnd - w - 1))) {
+                    u++;
+                    w++;
+                }
+                backward[offset + c] = u;
+
+                int k = delta - c;
+                if (!odd && k >= -d && k <= d && u <= n && w <= m
+                        && isInside(forward[offset + k], k, n, m)
+                        && forward[offset + k] >= n - u) {
+                    return new int[] { oldEnd - u, newEnd - w,
+                            oldEnd - startU, newEnd - startW };
+                }
+            }
+        }
+
+        throw new IllegalStateException("Lists cannot be compared, is either being modified?");
+    }
+
+    private static boolean isInside(final int x, final int k, final int n, final int m) {
+        return x <= n && x - k <= m;
+    }
+
+    /**
+     * Compares the items of the lists handed to {@link InstantDiff#calculate}. Both methods may
+     * be called from a background thread.
+     *
+     * @param <T> Type of the items.
+     */
+    public interface ItemCallback<T> {
+
+        /**
+         * Tells whether two items represent the same entity, for instance by comparing their ids.
+         *
+         * @param oldItem Item from the old list.
+         * @param newItem Item from the new list.
+         *
+         * @return {@code true} if the items represent the same entity.
+         */
+        boolean areItemsTheSame(T oldItem, T newItem);
+
+        /**
+         * Tells whether two items that represent the same entity display the same values. Only
+         * called for items for which {@link #areItemsTheSame(Object, Object)} returned
+         * {@code true}.
+         *
+         * @param oldItem Item from the old list.
+         * @param newItem Item from the new list.
+         *
+         * @return {@code true} if the contents of the items are the same.
+         */
+        boolean areContentsTheSame(T oldItem, T newItem);
+    }
+
+    /**
+     * The difference between two lists, maps positions from one list to the other.
+     */
+    public static final class Result {
+
+        /**
+         * Position of an item that is not in the other list.
+         */
+        public static final int NO_POSITION = -1;
+
+        private final int[] mOldToNew;
+        private final int[] mNewToOld;
+        private final boolean[] mChanged;
+
+        Result(final int[] oldToNew, final int[] newToOld, final boolean[] changed) {
+            mOldToNew = oldToNew;
+            mNewToOld = newToOld;
+            mChanged = changed;
+        }
+
+        /**
+         * Returns the position in the new list of an item from the old list.
+         *
+         * @param oldPosition Position in the old list.
+         *
+         * @return Position in the new list, {@link #NO_POSITION} if the item was removed.
+         */
+        public int getNewPosition(final int oldPosition) {
+            return mOldToNew[oldPosition];
+        }
+
+        /**
+         * Returns the position in the old list of an item from the new list.
+         *
+         * @param newPosition Position in the new list.
+         *
+         * @return Position in the old list, {@link #NO_POSITION} if the item was inserted.
+         */
+        public int getOldPosition(final int newPosition) {
+            return mNewToOld[newPosition];
+        }
+
+        /**
+         * Tells whether an item from the new list has been inserted or its contents changed.
+         *
+         * @param newPosition Position in the new list.
+         *
+         * @return {@code true} if the row showing the item has to be bound again.
+         */
+        public boolean isChanged(final int newPosition) {
+            return mChanged[newPosition];
+        }
+
+        /**
+         * Returns the number of items in the old list.
+         *
+         * @return Size of the old list.
+         */
+        public int getOldSize() {
+            return mOldToNew.length;
+        }
+
+        /**
+         * Returns the number of items in the new list.
+         *
+         * @return Size of the new list.
+         */
+        public int getNewSize() {
+            return mNewToOld.length;
+        }
+    }
+
+}
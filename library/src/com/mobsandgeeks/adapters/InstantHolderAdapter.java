@@ -0,0 +1,404 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+
+import java.util.List;
+
+/**
+ * An adapter that maps <b>Instant*</b> annotated members of your model to {@link View}s on your
+ * layout, like {@link InstantAdapter}, and keeps track of what every row is bound to through an
+ * {@link InstantViewHolder}. Instead of {@link #notifyDataSetChanged()}, tell the adapter what
+ * changed in the {@link List} it is backed by:
+ *
+ * <ul>
+ *   <li>{@link #notifyItemChanged(int, int...)} with the ids of the Views that changed, only
+ *      those Views are bound again.</li>
+ *   <li>{@link #notifyItemChanged(int)} when anything about the item may have changed.</li>
+ *   <li>{@link #notifyItemRangeInserted(int, int)}, {@link #notifyItemRangeRemoved(int, int)}
+ *      and {@link #notifyItemMoved(int, int)} when items are added, removed or moved.</li>
+ * </ul>
+ *
+ * <p>
+ * Rows that are already bound to the same item at the same position are not bound again, the
+ * list is redrawn without touching them. {@link #notifyDataSetChanged()} still rebinds every
+ * row. The adapter uses the rows' {@link View#setTag(Object)} for its holders.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> The model you want to back using the {@link InstantHolderAdapter}.
+ */
+public class InstantHolderAdapter<T> extends BaseAdapter {
+
+    // Marks a change that requires the whole row to be bound again
+    private static final int[] ALL_VIEWS = new int[0];
+
+    // Attributes
+    private Context mContext;
+    private InstantAdapterCore<T> mInstantAdapterCore;
+    private List<T> mItems;
+
+    // Changes since the last notifyDataSetChanged(), keyed by position
+    private SparseArray<Change> mChanges;
+    private int mChangeCount;
+    private int mGeneration;
+
+    // Statistics
+    private long mSkippedRowBindCount;
+    private long mPartialRowBindCount;
+
+    /**
+     * Constructs a new {@link InstantHolderAdapter} for your model.
+     *
+     * @param context The {@link Context} to use.
+     * @param layoutResourceId The resource id of your XML layout.
+     * @param dataType The data type backed by your adapter.
+     * @param items The {@link List} of instances backed by your adapter.
+     *
+     * @throws IllegalArgumentException If {@code items} is {@code null}.
+     */
+    public InstantHolderAdapter(final Context context, final int layoutResourceId,
+            final Class<?> dataType, final List<T> items) {
+        if (items == null) {
+            throw new IllegalArgumentException("'items' cannot be null.");
+        }
+
+        mContext = context;
+        mInstantAdapterCore = new InstantAdapterCore<T>(context, this, layoutResourceId,
+                dataType);
+        mItems = items;
+        mChanges = new SparseArray<Change>();
+    }
+
+    @Override
+    public int getCount() {
+        return mItems.size();
+    }
+
+    @Override
+    public T getItem(final int position) {
+        return mItems.get(position);
+    }
+
+    /**
+     * Returns the {@link InstantId} of the item at the given position, or the position itself if
+     * your model does not have an {@link InstantId} annotated member.
+     */
+    @Override
+    public long getItemId(final int position) {
+        return mInstantAdapterCore.hasStableIds() ?
+                mInstantAdapterCore.getItemId(getItem(position)) : position;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return mInstantAdapterCore.hasStableIds();
+    }
+
+    /**
+     * Returns the {@link List} backing this adapter. Notify the adapter after you modify it.
+     *
+     * @return The {@link List} of instances.
+     */
+    public List<T> getItems() {
+        return mItems;
+    }
+
+    @Override
+    public View getView(final int position, final View convertView, final ViewGroup parent) {
+        View view = convertView;
+        if (view == null) {
+            view = mInstantAdapterCore.createNewView(mContext, parent);
+        }
+
+        InstantViewHolder<T> holder = getViewHolder(view);
+        T item = getItem(position);
+
+        // ListView also asks for rows to measure or to keep as scrap, so a change is never
+        // consumed. Every row bound to the item before the change binds it once.
+        boolean isBound = holder.mGeneration == mGeneration && holder.mItem == item
+                && holder.mPosition == position;
+        Change change = isBound ? mChanges.get(position) : null;
+        boolean hasChanged = change != null && change.number > holder.mChangeNumber;
+        if (!isBound || hasChanged && change.viewIds == ALL_VIEWS) {
+            mInstantAdapterCore.bindToView(parent, view, item, position);
+        } else if (hasChanged) {
+            mInstantAdapterCore.bindToView(parent, view, item, position, change.viewIds);
+            mPartialRowBindCount++;
+        } else {
+            mSkippedRowBindCount++;
+        }
+
+        holder.mItem = item;
+        holder.mPosition = position;
+        holder.mGeneration = mGeneration;
+        holder.mChangeNumber = mChangeCount;
+
+        return view;
+    }
+
+    /**
+     * Rebinds the Views with the given ids of the item at the given position.
+     *
+     * @param position Position of the item that changed.
+     * @param viewIds Ids of the Views whose values changed.
+     */
+    public void notifyItemChanged(final int position, final int... viewIds) {
+        if (viewIds.length == 0) {
+            notifyItemChanged(position);
+            return;
+        }
+
+        addChange(position, viewIds.clone());
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Rebinds the item at the given position.
+     *
+     * @param position Position of the item that changed.
+     */
+    public void notifyItemChanged(final int position) {
+        addChange(position, ALL_VIEWS);
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Rebinds the items in the given range.
+     *
+     * @param positionStart Position of the first item that changed.
+     * @param itemCount Number of items that changed.
+     */
+    public void notifyItemRangeChanged(final int positionStart, final int itemCount) {
+        for (int i = 0; i < itemCount; i++) {
+            addChange(positionStart + i, ALL_VIEWS);
+        }
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Notifies that an item has been inserted at the given position.
+     *
+     * @param position Position of the new item.
+     */
+    public void notifyItemInserted(final int position) {
+        notifyItemRangeInserted(position, 1);
+    }
+
+    /**
+     * Notifies that items have been inserted. Rows showing the items that were already in the
+     * list are not bound again if they stay at the same position.
+     *
+     * @param positionStart Position of the first new item.
+     * @param itemCount Number of items inserted.
+     */
+    public void notifyItemRangeInserted(final int positionStart, final int itemCount) {
+        offsetChanges(positionStart, itemCount, true);
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Notifies that the item at the given position has been removed.
+     *
+     * @param position Former position of the item.
+     */
+    public void notifyItemRemoved(final int position) {
+        notifyItemRangeRemoved(position, 1);
+    }
+
+    /**
+     * Notifies that items have been removed.
+     *
+     * @param positionStart Former position of the first item removed.
+     * @param itemCount Number of items removed.
+     */
+    public void notifyItemRangeRemoved(final int positionStart, final int itemCount) {
+        offsetChanges(positionStart, itemCount, false);
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Notifies that an item has been moved.
+     *
+     * @param fromPosition Former position of the item.
+     * @param toPosition New position of the item.
+     */
+    public void notifyItemMoved(final int fromPosition, final int toPosition) {
+        SparseArray<Change> changes = new SparseArray<Change>(mChanges.size());
+        for (int i = 0, n = mChanges.size(); i < n; i++) {
+            int position = mChanges.keyAt(i);
+            if (position == fromPosition) {
+                position = toPosition;
+            } else if (fromPosition < toPosition
+                    && position > fromPosition && position <= toPosition) {
+                position--;
+            } else if (fromPosition > toPosition
+                    && position >= toPosition && position < fromPosition) {
+                position++;
+            }
+            changes.put(position, mChanges.valueAt(i));
+        }
+        mChanges = changes;
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Rebinds all rows, use the finer grained notifications whenever possible.
+     */
+    @Override
+    public void notifyDataSetChanged() {
+        mGeneration++;
+        mChanges.clear();
+        super.notifyDataSetChanged();
+    }
+
+    @Override
+    public void notifyDataSetInvalidated() {
+        mGeneration++;
+        mChanges.clear();
+        super.notifyDataSetInvalidated();
+    }
+
+    /**
+     * Sets a {@link ViewHandler} for a View with the given id.
+     *
+     * @param viewId Id of the view you want to handle.
+     * @param viewHandler A {@link ViewHandler} instance for your view with the given id.
+     */
+    public void setViewHandler(final int viewId, final ViewHandler<T> viewHandler) {
+        mInstantAdapterCore.setViewHandler(viewId, viewHandler);
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Sets a {@link InstantMetrics.Listener} that receives this adapter's inflate and bind
+     * timings. It takes precedence over the global listener set on {@link InstantMetrics}.
+     *
+     * @param listener The {@link InstantMetrics.Listener}, {@code null} to remove it.
+     */
+    public void setMetricsListener(final InstantMetrics.Listener listener) {
+        mInstantAdapterCore.setMetricsListener(listener);
+    }
+
+    /**
+     * Returns the number of rows that were not bound because they were already bound to the
+     * same item at the same position.
+     *
+     * @return Number of skipped row binds.
+     */
+    public long getSkippedRowBindCount() {
+        return mSkippedRowBindCount;
+    }
+
+    /**
+     * Returns the number of rows of which only the Views that changed were bound.
+     *
+     * @return Number of partial row binds.
+     */
+    public long getPartialRowBindCount() {
+        return mPartialRowBindCount;
+    }
+
+    /**
+     * Returns the number of annotated views that were not updated because the value they display
+     * did not change.
+     *
+     * @return Number of skipped view updates.
+     */
+    public long getSkippedViewUpdateCount() {
+        return mInstantAdapterCore.getSkippedViewUpdateCount();
+    }
+
+    @SuppressWarnings("unchecked")
+    private InstantViewHolder<T> getViewHolder(final View view) {
+        Object tag = view.getTag();
+        if (tag instanceof InstantViewHolder) {
+            return (InstantViewHolder<T>) tag;
+        }
+
+        InstantViewHolder<T> holder = mInstantAdapterCore.createViewHolder(view);
+        view.setTag(holder);
+        return holder;
+    }
+
+    /*
+     * Rows bound before a change bind the union of the Views changed at the position since, a
+     * row that missed some of the changes binds a few more Views than it needs to.
+     */
+    private void addChange(final int position, final int[] viewIds) {
+        Change change = mChanges.get(position);
+        if (change == null) {
+            change = new Change();
+            change.viewIds = viewIds;
+            mChanges.put(position, change);
+        } else if (viewIds == ALL_VIEWS || change.viewIds == ALL_VIEWS) {
+            change.viewIds = ALL_VIEWS;
+        } else {
+            change.viewIds = union(change.viewIds, viewIds);
+        }
+        change.number = ++mChangeCount;
+    }
+
+    private void offsetChanges(final int positionStart, final int itemCount,
+            final boolean inserted) {
+        SparseArray<Change> changes = new SparseArray<Change>(mChanges.size());
+        for (int i = 0, n = mChanges.size(); i < n; i++) {
+            int position = mChanges.keyAt(i);
+            if (position < positionStart) {
+                changes.put(position, mChanges.valueAt(i));
+            } else if (inserted) {
+                changes.put(position + itemCount, mChanges.valueAt(i));
+            } else if (position >= positionStart + itemCount) {
+                changes.put(position - itemCount, mChanges.valueAt(i));
+            }
+        }
+        mChanges = changes;
+    }
+
+    private static int[] union(final int[] viewIds, final int[] moreViewIds) {
+        int[] union = new int[viewIds.length + moreViewIds.length];
+        System.arraycopy(viewIds, 0, union, 0, viewIds.length);
+
+        int size = viewIds.length;
+        for (int viewId : moreViewIds) {
+            boolean isNew = true;
+            for (int i = 0; i < size && isNew; i++) {
+                isNew = union[i] != viewId;
+            }
+            if (isNew) {
+                union[size++] = viewId;
+            }
+        }
+
+        int[] trimmed = new int[size];
+        System.arraycopy(union, 0, trimmed, 0, size);
+        return trimmed;
+    }
+
+    /**
+     * Views that changed at a position and the number of the latest change there.
+     */
+    private static class Change {
+        int[] viewIds;
+        int number;
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates the method or {@code public} field in your model class that supplies a stable id
+ * for each instance. The method must be {@code public}, have no parameters and return a
+ * {@code long}, the field must be a {@code long}. At most one member of a model (including its
+ * superclasses) can be annotated.
+ *
+ * <p>
+ * Adapters return the id from {@code getItemId()} and report stable ids, which lets
+ * {@link android.widget.ListView} keep choice and transient state across data changes.
+ * </p>
+ *
+ * <p>
+ * <b>Example</b>
+ * <pre>
+ * class Book {
+ *     ...
+ *
+ *     &#064;InstantId
+ *     public long getIsbn() {
+ *          return isbn;
+ *     }
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.FIELD })
+public @interface InstantId {
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+/**
+ * Implemented by the binders that the <b>adapter-kit-processor</b> generates for models with an
+ * {@link InstantId} annotated member, in addition to {@link InstantBinder}.
+ * <p>
+ * You are not expected to implement this interface by hand.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> The model that the binder was generated for.
+ */
+public interface InstantIdBinder<T> extends InstantBinder<T> {
+
+    /**
+     * Returns the value of the {@link InstantId} annotated member.
+     *
+     * @param instance The instance whose id has to be read.
+     *
+     * @return The instance's id.
+     */
+    long getId(T instance);
+
+}
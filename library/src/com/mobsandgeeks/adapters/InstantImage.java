@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.widget.ImageView;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotates methods or {@code public} fields in your model class that supply the image for an
+ * {@link ImageView} in your custom layout. Methods have to meet the same requirements as the
+ * ones annotated with {@link InstantText}. The value can be one of the following:
+ *
+ * <ol>
+ *   <li>A {@link String} or a {@link java.io.File}, the path of an image file.</li>
+ *   <li>An {@link Integer}, the resource id of a drawable bitmap.</li>
+ *   <li>A {@code byte[]}, the encoded image.</li>
+ * </ol>
+ *
+ * <p>
+ * Images are decoded on a background thread and downsampled to the size of the
+ * {@link ImageView}. Decoded bitmaps are kept in the {@link InstantImageCache}.
+ * </p>
+ *
+ * <p>
+ * <b>Example</b>
+ * <pre>
+ * class Book {
+ *     ...
+ *
+ *     &#064;InstantImage(viewId = R.id.cover, placeholderResId = R.drawable.no_cover)
+ *     public String getCoverPath() {
+ *          return coverPath;
+ *     }
+ * }
+ * </pre>
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.FIELD })
+public @interface InstantImage {
+    public int viewId();
+    public int placeholderResId()   default 0;
+}
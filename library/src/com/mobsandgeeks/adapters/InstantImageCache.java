@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the bitmaps decoded for {@link InstantImage} members, keyed by the
+ * image source and the size it was decoded for. The cache is bounded by the number of bytes
+ * held by its bitmaps and evicts the least recently used ones.
+ * <p>
+ * Bitmaps evicted from the cache are kept aside to be decoded into again (on API 11 and above),
+ * but only once no {@link android.widget.ImageView} shows them anymore. Thread-safe.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public final class InstantImageCache {
+
+    // Constants
+    private static final int DEFAULT_MAX_SIZE =
+            (int) Math.min(Integer.MAX_VALUE, Runtime.getRuntime().maxMemory() / 8);
+    private static final int MAX_REUSABLE_BITMAPS = 8;
+    private static final boolean CAN_REUSE_BITMAPS =
+            Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB;
+    static final boolean CAN_REUSE_LARGER_BITMAPS = Build.VERSION.SDK_INT >= 19;
+
+    // Attributes
+    private static final LinkedHashMap<Key, Entry> sCache =
+            new LinkedHashMap<Key, Entry>(32, 0.75f, true);
+    private static final List<Bitmap> sReusableBitmaps = new ArrayList<Bitmap>();
+    private static int sMaxSize = DEFAULT_MAX_SIZE;
+    private static int sSize;
+
+    // Statistics
+    private static long sHitCount;
+    private static long sMissCount;
+
+    private InstantImageCache() {
+        // No instances
+    }
+
+    /**
+     * Sets the maximum number of bytes held by cached bitmaps, the default is an eighth of the
+     * maximum heap size. Least recently used bitmaps are evicted if the cache is larger than the
+     * new size.
+     *
+     * @param maxSize The maximum size in bytes, {@code 0} disables caching.
+     *
+     * @throws IllegalArgumentException If {@code maxSize} is negative.
+     */
+    public static synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' cannot be negative.");
+        }
+        sMaxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    /**
+     * Returns the number of bytes held by cached bitmaps.
+     *
+     * @return Size of the cache in bytes.
+     */
+    public static synchronized int size() {
+        return sSize;
+    }
+
+    /**
+     * Removes all cached bitmaps.
+     */
+    public static synchronized void clear() {
+        trimToSize(-1);
+        sReusableBitmaps.clear();
+    }
+
+    /**
+     * Returns the number of times a bitmap was found in the cache.
+     *
+     * @return Number of cache hits.
+     */
+    public static synchronized long getHitCount() {
+        return sHitCount;
+    }
+
+    /**
+     * Returns the number of times a bitmap had to be decoded.
+     *
+     * @return Number of cache misses.
+     */
+    public static synchronized long getMissCount() {
+        return sMissCount;
+    }
+
+    /**
+     * Looks up a cached bitmap and retains it on behalf of the caller in the same step, so that
+     * it cannot be evicted into the reusable bitmaps in between.
+     *
+     * @return The retained {@link Entry} or {@code null} if there is none.
+     */
+    static synchronized Entry getAndRetain(final Object source, final int width,
+            final int height) {
+        Entry entry = sCache.get(new Key(source, width, height));
+        if (entry == null || entry.evicted) {
+            sMissCount++;
+            return null;
+        }
+
+        sHitCount++;
+        entry.displayCount++;
+        return entry;
+    }
+
+    /**
+     * Caches a freshly decoded bitmap. The returned {@link Entry} is retained once on behalf of
+     * the caller, so that it cannot be reused before it is displayed or released.
+     */
+    static synchronized Entry put(final Object source, final int width, final int height,
+            final Bitmap bitmap) {
+        Entry entry = new Entry(bitmap);
+        entry.displayCount = 1;
+
+        Entry previous = sCache.put(new Key(source, width, height), entry);
+        if (previous != null) {
+            sSize -= previous.size;
+            evict(previous);
+        }
+        sSize += entry.size;
+        trimToSize(sMaxSize);
+
+        return entry;
+    }
+
+    static synchronized void release(final Entry entry) {
+        entry.displayCount--;
+        if (entry.evicted && entry.displayCount == 0) {
+            addReusableBitmap(entry.bitmap);
+        }
+    }
+
+    /**
+     * Takes a bitmap that an image of the given size can be decoded into.
+     *
+     * @param width Width of the image once decoded.
+     * @param height Height of the image once decoded.
+     * @param config Configuration of the decoded image.
+     *
+     * @return A reusable bitmap or {@code null} if there is none.
+     */
+    static synchronized Bitmap takeReusableBitmap(final int width, final int height,
+            final Bitmap.Config config) {
+        Iterator<Bitmap> iterator = sReusableBitmaps.iterator();
+        while (iterator.hasNext()) {
+            Bitmap bitmap = iterator.next();
+            if (bitmap.isRecycled()) {
+                iterator.remove();
+            } else if (canDecodeInto(bitmap, width, height, config)) {
+                iterator.remove();
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a bitmap taken through {@link #takeReusableBitmap} that was not decoded into.
+     */
+    static synchronized void returnReusableBitmap(final Bitmap bitmap) {
+        addReusableBitmap(bitmap);
+    }
+
+    /*
+     * Before KitKat, only images of the very same size can be decoded into a bitmap.
+     */
+    private static boolean canDecodeInto(final Bitmap bitmap, final int width, final int height,
+            final Bitmap.Config config) {
+        if (CAN_REUSE_LARGER_BITMAPS) {
+            return width * height * 4 <= bitmap.getRowBytes() * bitmap.getHeight();
+        }
+        return bitmap.getWidth() == width && bitmap.getHeight() == height
+                && bitmap.getConfig() == config;
+    }
+
+    private static void trimToSize(final int maxSize) {
+        Iterator<Map.Entry<Key, Entry>> iterator = sCache.entrySet().iterator();
+        while (sSize > maxSize && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            sSize -= eldest.size;
+            evict(eldest);
+        }
+    }
+
+    private static void evict(final Entry entry) {
+        entry.evicted = true;
+        if (entry.displayCount == 0) {
+            addReusableBitmap(entry.bitmap);
+        }
+    }
+
+    private static void addReusableBitmap(final Bitmap bitmap) {
+        if (!CAN_REUSE_BITMAPS || !bitmap.isMutable()) {
+            return;
+        }
+        if (sReusableBitmaps.size() == MAX_REUSABLE_BITMAPS) {
+            sReusableBitmaps.remove(0);
+        }
+        sReusableBitmaps.add(bitmap);
+    }
+
+    /**
+     * A cached bitmap along with the number of {@link android.widget.ImageView}s showing it.
+     */
+    static final class Entry {
+        final Bitmap bitmap;
+        final int size;
+        int displayCount;
+        boolean evicted;
+
+        Entry(final Bitmap bitmap) {
+            this.bitmap = bitmap;
+            this.size = bitmap.getRowBytes() * bitmap.getHeight();
+        }
+    }
+
+    /**
+     * Cache key, an image source and the size it is decoded for. Encoded images ({@code byte[]})
+     * are compared by identity.
+     */
+    private static final class Key {
+        final Object source;
+        final int width;
+        final int height;
+
+        Key(final Object source, final int width, final int height) {
+            this.source = source;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return width == key.width && height == key.height && source.equals(key.source);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * source.hashCode() + width) + height;
+        }
+    }
+
+}
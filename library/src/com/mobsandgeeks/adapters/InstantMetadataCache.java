@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the metadata {@link InstantAdapterCore} extracts from a model and its
+ * layout. The first {@link InstantAdapter} or {@link InstantCursorAdapter} for a given model and
+ * layout pays for the scan, subsequent adapters (after a rotation or a tab switch for instance)
+ * reuse the result.
+ * <p>
+ * The cache holds strong references to the model classes. It is bounded and evicts the least
+ * recently used entries, call {@link #clear()} if you load models through class loaders that
+ * you intend to discard.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public final class InstantMetadataCache {
+
+    // Constants
+    private static final int DEFAULT_MAX_SIZE = 32;
+
+    // Attributes
+    private static int sMaxSize = DEFAULT_MAX_SIZE;
+    private static final LinkedHashMap<Key, InstantAdapterCore.Metadata> sCache =
+            new LinkedHashMap<Key, InstantAdapterCore.Metadata>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<Key, InstantAdapterCore.Metadata> eldest) {
+                    return size() > sMaxSize;
+                }
+            };
+
+    private InstantMetadataCache() {
+        // No instances
+    }
+
+    /**
+     * Removes all cached metadata, including the column mappings of {@link InstantColumn}
+     * annotated models.
+     */
+    public static synchronized void clear() {
+        sCache.clear();
+        ColumnMapping.clear();
+    }
+
+    /**
+     * Returns the number of model and layout combinations that are currently cached.
+     *
+     * @return Number of cached entries.
+     */
+    public static synchronized int size() {
+        return sCache.size();
+    }
+
+    /**
+     * Sets the maximum number of model and layout combinations to be cached, the default is
+     * {@value #DEFAULT_MAX_SIZE}. Least recently used entries are evicted if the cache is larger
+     * than the new size.
+     *
+     * @param maxSize The maximum number of entries, {@code 0} disables caching.
+     *
+     * @throws IllegalArgumentException If {@code maxSize} is negative.
+     */
+    public static synchronized void setMaxSize(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("'maxSize' cannot be negative.");
+        }
+        sMaxSize = maxSize;
+
+        while (sCache.size() > sMaxSize) {
+            sCache.remove(sCache.keySet().iterator().next());
+        }
+    }
+
+    static synchronized InstantAdapterCore.Metadata get(final Class<?> dataType,
+            final int layoutResourceId, final Locale locale) {
+        InstantAdapterCore.Metadata metadata = sCache.get(new Key(dataType, layoutResourceId));
+
+        // Patterns resolved from string resources are only valid for the same locale
+        if (metadata != null && !metadata.locale.equals(locale)) {
+            metadata = null;
+        }
+
+        return metadata;
+    }
+
+    static synchronized void put(final Class<?> dataType, final int layoutResourceId,
+            final InstantAdapterCore.Metadata metadata) {
+        sCache.put(new Key(dataType, layoutResourceId), metadata);
+    }
+
+    /**
+     * Cache key, a model class and the layout it is bound to.
+     */
+    private static final class Key {
+        final Class<?> dataType;
+        final int layoutResourceId;
+
+        Key(final Class<?> dataType, final int layoutResourceId) {
+            this.dataType = dataType;
+            this.layoutResourceId = layoutResourceId;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return layoutResourceId == key.layoutResourceId && dataType.equals(key.dataType);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dataType.hashCode() + layoutResourceId;
+        }
+    }
+
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import java.lang.reflect.Method;
+
+/**
+ * Instrumentation for the adapters in this library. Install a {@link Listener} globally through
+ * {@link #setListener(Listener)} or per adapter through {@code setMetricsListener()} to receive
+ * inflate, bind, {@link ViewHandler} and section timings along with cache hits and misses.
+ * Adapters also emit {@code android.os.Trace} sections on API 18 and above when
+ * {@link #setTraceEnabled(boolean)} is turned on, so that they show up in systrace.
+ * <p>
+ * When no listener is installed and tracing is off, the adapters only pay for a null check per
+ * row. Listeners are called on the main thread, durations are in nanoseconds.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public final class InstantMetrics {
+
+    // Caches reported through Listener.onCacheAccess()
+    /**
+     * Metadata of a model and layout, see {@link InstantMetadataCache}. Only reported to the
+     * global listener, the lookup happens while an adapter is constructed.
+     */
+    public static final int CACHE_METADATA = 0;
+    /** Rendered HTML of {@link InstantText#isHtml()} members. */
+    public static final int CACHE_HTML = 1;
+    /** Rows taken from an {@link InstantViewPool}. */
+    public static final int CACHE_VIEW_POOL = 2;
+    /** Rows inflated ahead of time through {@code preinflate()}. */
+    public static final int CACHE_PREINFLATED = 3;
+    /** Display values computed ahead of time through {@code setAsyncPrebinding()}. */
+    public static final int CACHE_PREBOUND = 4;
+
+    // Attributes
+    private static volatile Listener sListener;
+    private static volatile boolean sTraceEnabled;
+
+    // android.os.Trace, API 18
+    private static Method sBeginSection;
+    private static Method sEndSection;
+
+    static {
+        try {
+            Class<?> trace = Class.forName("android.os.Trace");
+            sBeginSection = trace.getMethod("beginSection", String.class);
+            sEndSection = trace.getMethod("endSection");
+        } catch (Exception e) {
+            // Not available on this platform version
+            sBeginSection = null;
+            sEndSection = null;
+        }
+    }
+
+    private InstantMetrics() {
+        // No instances
+    }
+
+    /**
+     * Installs a {@link Listener} for all adapters that do not have one of their own.
+     *
+     * @param listener The {@link Listener}, {@code null} to remove it.
+     */
+    public static void setListener(final Listener listener) {
+        sListener = listener;
+    }
+
+    /**
+     * Returns the global {@link Listener}.
+     *
+     * @return The global {@link Listener} or {@code null} if there is none.
+     */
+    public static Listener getListener() {
+        return sListener;
+    }
+
+    /**
+     * Enables {@code android.os.Trace} sections for inflating rows, binding rows and finding
+     * sections. Has no effect below API 18.
+     *
+     * @param enabled {@code true} to emit trace sections, {@code false} otherwise.
+     */
+    public static void setTraceEnabled(final boolean enabled) {
+        sTraceEnabled = enabled && sBeginSection != null;
+    }
+
+    /**
+     * Returns the listener an adapter should report to, its own or the global one.
+     */
+    static Listener listenerFor(final Listener adapterListener) {
+        return adapterListener != null ? adapterListener : sListener;
+    }
+
+    static void beginSection(final String name) {
+        if (sTraceEnabled) {
+            invoke(sBeginSection, name);
+        }
+    }
+
+    static void endSection() {
+        if (sTraceEnabled) {
+            invoke(sEndSection);
+        }
+    }
+
+    private static void invoke(final Method method, final Object... args) {
+        try {
+            method.invoke(null, args);
+        } catch (Exception e) {
+            if (InstantAdapterCore.DEBUG) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Receives the measurements of the adapters it is installed on. All callbacks happen on the
+     * main thread. Extend {@link SimpleListener} to override only the callbacks you need.
+     */
+    public interface Listener {
+
+        /**
+         * A row was inflated by {@code createNewView()}.
+         *
+         * @param layoutResourceId The row layout.
+         * @param durationNanos Time taken to inflate the row and resolve its Views.
+         */
+        void onRowInflated(int layoutResourceId, long durationNanos);
+
+        /**
+         * A row was bound by {@code bindToView()}.
+         *
+         * @param layoutResourceId The row layout.
+         * @param position The position that was bound.
+         * @param durationNanos Time taken to bind the whole row, {@link ViewHandler}s included.
+         */
+        void onRowBound(int layoutResourceId, int position, long durationNanos);
+
+        /**
+         * An annotated View was updated from its member.
+         *
+         * @param layoutResourceId The row layout.
+         * @param viewId Id of the annotated View.
+         * @param durationNanos Time taken to read the member and update the View.
+         */
+        void onViewBound(int layoutResourceId, int viewId, long durationNanos);
+
+        /**
+         * A {@link ViewHandler} was executed.
+         *
+         * @param layoutResourceId The row layout.
+         * @param viewId Id of the View the handler is set on, the layout id for the row's handler.
+         * @param durationNanos Time taken by {@link ViewHandler#handleView}.
+         */
+        void onViewHandled(int layoutResourceId, int viewId, long durationNanos);
+
+        /**
+         * One of the adapter's caches was looked up. {@link #CACHE_METADATA} lookups happen
+         * while an adapter is constructed, before a listener can be set on it, so they are
+         * only reported to the global listener.
+         *
+         * @param layoutResourceId The row layout.
+         * @param cache One of the {@code CACHE_*} constants of {@link InstantMetrics}.
+         * @param hit {@code true} if the lookup was served from the cache.
+         */
+        void onCacheAccess(int layoutResourceId, int cache, boolean hit);
+
+        /**
+         * A {@link SimpleSectionAdapter} computed its sections.
+         *
+         * @param itemCount Number of items in the wrapped adapter.
+         * @param sectionCount Number of sections found.
+         * @param durationNanos Time taken to compute the sections.
+         */
+        void onSectionsFound(int itemCount, int sectionCount, long durationNanos);
+    }
+
+    /**
+     * A {@link Listener} that ignores all callbacks.
+     */
+    public static class SimpleListener implements Listener {
+
+        @Override
+        public void onRowInflated(final int layoutResourceId, final long durationNanos) {
+        }
+
+        @Override
+        public void onRowBound(final int layoutResourceId, final int position,
+                final long durationNanos) {
+        }
+
+        @Override
+        public void onViewBound(final int layoutResourceId, final int viewId,
+                final long durationNanos) {
+        }
+
+        @Override
+        public void onViewHandled(final int layoutResourceId, final int viewId,
+                final long durationNanos) {
+        }
+
+        @Override
+        public void onCacheAccess(final int layoutResourceId, final int cache,
+                final boolean hit) {
+        }
+
+        @Override
+        public void onSectionsFound(final int itemCount, final int sectionCount,
+                final long durationNanos) {
+        }
+    }
+
+}
@@ -30,6 +30,10 @@ import java.lang.annotation.Target;
  * </ol>
  *
  * <p>
+ * {@code public} fields can be annotated as well, they are read directly.
+ * </p>
+ *
+ * <p>
  * <b>Example</b>
  * <pre>
  * class Book {
@@ -51,7 +55,7 @@ import java.lang.annotation.Target;
  * @author Ragunath Jawahar <rj@mobsandgeeks.com>
  */
 @Retention(RetentionPolicy.RUNTIME)
-@Target(ElementType.METHOD)
+@Target({ ElementType.METHOD, ElementType.FIELD })
 public @interface InstantText {
     public int viewId();
     public int datePatternResId()   default 0;
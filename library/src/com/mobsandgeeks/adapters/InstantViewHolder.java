@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+/**
+ * Holds a row of an {@link InstantHolderAdapter} along with the item and the position it is
+ * bound to. The holder is set as the row's tag through {@link View#setTag(Object)}. It is
+ * created by {@link InstantAdapterCore#createViewHolder(View)}, which looks up the Views of the
+ * annotated members and the {@link ViewHandler}s right away.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> The model backed by the {@link InstantHolderAdapter}.
+ */
+public class InstantViewHolder<T> {
+
+    /**
+     * The row this holder was created for.
+     */
+    public final View itemView;
+
+    // Binding state
+    T mItem;
+    int mPosition = -1;
+    int mGeneration = -1;
+    int mChangeNumber;
+
+    // Views looked up by id
+    private final SparseArray<View> mViews;
+
+    InstantViewHolder(final View itemView) {
+        this.itemView = itemView;
+        mViews = new SparseArray<View>();
+    }
+
+    /**
+     * Returns the item the row is bound to.
+     *
+     * @return The item or {@code null} if the row has not been bound yet.
+     */
+    public T getItem() {
+        return mItem;
+    }
+
+    /**
+     * Returns the position the row is bound to.
+     *
+     * @return The position or {@code -1} if the row has not been bound yet.
+     */
+    public int getPosition() {
+        return mPosition;
+    }
+
+    /**
+     * Returns the {@link TextView} with the given id, see {@link #getView(int)}.
+     *
+     * @param viewId Id of the {@link TextView}.
+     *
+     * @return The {@link TextView} or {@code null} if there is no such View in the row.
+     *
+     * @throws ClassCastException If the View is not a {@link TextView}.
+     */
+    public TextView getTextView(final int viewId) {
+        return (TextView) getView(viewId);
+    }
+
+    /**
+     * Returns the {@link ImageView} with the given id, see {@link #getView(int)}.
+     *
+     * @param viewId Id of the {@link ImageView}.
+     *
+     * @return The {@link ImageView} or {@code null} if there is no such View in the row.
+     *
+     * @throws ClassCastException If the View is not an {@link ImageView}.
+     */
+    public ImageView getImageView(final int viewId) {
+        return (ImageView) getView(viewId);
+    }
+
+    /**
+     * Finds a View in the row, Views are looked up only once.
+     *
+     * @param viewId Id of the View.
+     *
+     * @return The View or {@code null} if there is no such View in the row.
+     */
+    public View getView(final int viewId) {
+        View view = mViews.get(viewId);
+        if (view == null) {
+            view = itemView.findViewById(viewId);
+            if (view != null) {
+                mViews.put(viewId, view);
+            }
+        }
+        return view;
+    }
+
+    void putView(final int viewId, final View view) {
+        mViews.put(viewId, view);
+    }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of rows that can be shared between {@link InstantAdapter}s and
+ * {@link InstantCursorAdapter}s that use the same row layout, for instance lists on different
+ * tabs or pages of a ViewPager. Rows released by one adapter through {@code releaseViews()}
+ * are picked up by the other adapters instead of inflating new ones, along with their resolved
+ * Views.
+ * <p>
+ * Rows hold on to the {@link android.content.Context} they were inflated with, share a pool
+ * only between adapters of the same Activity. The pool is not thread-safe and must be used from
+ * the main thread.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public class InstantViewPool {
+
+    // Constants
+    private static final int DEFAULT_MAX_RECYCLED_VIEWS = 16;
+
+    // Attributes
+    private final SparseArray<ArrayList<View>> mScrapViews;
+    private final SparseIntArray mMaxRecycledViews;
+
+    // Statistics
+    private long mHitCount;
+    private long mMissCount;
+
+    public InstantViewPool() {
+        mScrapViews = new SparseArray<ArrayList<View>>();
+        mMaxRecycledViews = new SparseIntArray();
+    }
+
+    /**
+     * Sets the maximum number of rows kept for a layout, the default is
+     * {@value #DEFAULT_MAX_RECYCLED_VIEWS}.
+     *
+     * @param layoutResourceId The row layout.
+     * @param max The maximum number of rows to keep, {@code 0} disables pooling for the layout.
+     */
+    public void setMaxRecycledViews(final int layoutResourceId, final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("'max' cannot be negative.");
+        }
+        mMaxRecycledViews.put(layoutResourceId, max);
+
+        ArrayList<View> scrapViews = mScrapViews.get(layoutResourceId);
+        while (scrapViews != null && scrapViews.size() > max) {
+            scrapViews.remove(scrapViews.size() - 1);
+        }
+    }
+
+    /**
+     * Returns the number of rows currently pooled for a layout.
+     *
+     * @param layoutResourceId The row layout.
+     *
+     * @return Number of pooled rows.
+     */
+    public int getRecycledViewCount(final int layoutResourceId) {
+        ArrayList<View> scrapViews = mScrapViews.get(layoutResourceId);
+        return scrapViews != null ? scrapViews.size() : 0;
+    }
+
+    /**
+     * Removes all pooled rows.
+     */
+    public void clear() {
+        mScrapViews.clear();
+    }
+
+    /**
+     * Returns the number of rows that were reused from the pool.
+     *
+     * @return Number of pool hits.
+     */
+    public long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Returns the number of rows that had to be inflated because the pool was empty.
+     *
+     * @return Number of pool misses.
+     */
+    public long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Adds a detached row to the pool, the row is dropped if the pool is full.
+     *
+     * @return {@code true} if the row was pooled, {@code false} otherwise.
+     */
+    boolean put(final int layoutResourceId, final View view) {
+        int max = mMaxRecycledViews.get(layoutResourceId, DEFAULT_MAX_RECYCLED_VIEWS);
+        ArrayList<View> scrapViews = mScrapViews.get(layoutResourceId);
+        if (scrapViews == null) {
+            scrapViews = new ArrayList<View>();
+            mScrapViews.put(layoutResourceId, scrapViews);
+        }
+
+        if (scrapViews.size() >= max || scrapViews.contains(view)) {
+            return false;
+        }
+        scrapViews.add(view);
+        return true;
+    }
+
+    /**
+     * Takes a row out of the pool.
+     *
+     * @return A row inflated from the layout, {@code null} if there is none.
+     */
+    View get(final int layoutResourceId) {
+        ArrayList<View> scrapViews = mScrapViews.get(layoutResourceId);
+        if (scrapViews == null || scrapViews.isEmpty()) {
+            mMissCount++;
+            return null;
+        }
+
+        mHitCount++;
+        return scrapViews.remove(scrapViews.size() - 1);
+    }
+
+}
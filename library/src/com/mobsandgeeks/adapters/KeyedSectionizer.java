@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+/**
+ * A {@link Sectionizer} that identifies the section of an item by a {@code long} key instead of
+ * its title, so that sectioning a large list neither creates nor hashes a title per item. Titles
+ * are only looked up once per distinct key, when a header is bound or the sections are listed.
+ * Pass it to {@link SimpleSectionAdapter} in place of a {@link Sectionizer}.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> Type of the items in the data source of the decorated list adapter.
+ */
+public interface KeyedSectionizer<T> {
+
+    /**
+     * Returns the key of the section the given item belongs to. Items of the same section must
+     * return the same key. May be called on the {@link java.util.concurrent.Executor} of the
+     * {@link SimpleSectionAdapter}.
+     *
+     * @param instance The instance obtained from the data source of the decorated list adapter.
+     *
+     * @return Key of the item's section.
+     */
+    long getSectionKeyForItem(T instance);
+
+    /**
+     * Returns the title of the section with the given key. Also called on the
+     * {@link java.util.concurrent.Executor} of the {@link SimpleSectionAdapter} when items are
+     * grouped with a title comparator.
+     *
+     * @param sectionKey A key returned by {@link #getSectionKeyForItem(Object)}.
+     *
+     * @return Title of the section.
+     */
+    String getSectionTitleForKey(long sectionKey);
+}
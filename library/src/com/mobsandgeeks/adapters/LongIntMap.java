@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import java.util.Arrays;
+
+/**
+ * Maps {@code long} keys to {@code int} values without boxing either, using open addressing with
+ * linear probing. Lookups take constant time, unlike {@link android.util.LongSparseArray} whose
+ * binary search takes logarithmic time. Not thread-safe.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class LongIntMap {
+
+    // Constants
+    private static final int MIN_CAPACITY = 8;
+    private static final long FREE_KEY = 0;
+
+    // Attributes
+    private long[] mKeys;
+    private int[] mValues;
+    private int mSize;
+
+    // The free key cannot be stored in the table
+    private boolean mHasFreeKey;
+    private int mFreeKeyValue;
+
+    LongIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    LongIntMap(final int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key The key.
+     * @param valueIfKeyNotFound Value returned if the key is not mapped.
+     *
+     * @return The value or {@code valueIfKeyNotFound}.
+     */
+    int get(final long key, final int valueIfKeyNotFound) {
+        if (key == FREE_KEY) {
+            return mHasFreeKey ? mFreeKeyValue : valueIfKeyNotFound;
+        }
+
+        int mask = mKeys.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            long k = mKeys[i];
+            if (k == key) {
+                return mValues[i];
+            } else if (k == FREE_KEY) {
+                return valueIfKeyNotFound;
+            }
+        }
+    }
+
+    /**
+     * Maps a key to a value, replacing the previous value if there is one.
+     *
+     * @param key The key.
+     * @param value The value.
+     */
+    void put(final long key, final int value) {
+        if (key == FREE_KEY) {
+            if (!mHasFreeKey) {
+                mHasFreeKey = true;
+                mSize++;
+            }
+            mFreeKeyValue = value;
+            return;
+        }
+
+        int mask = mKeys.length - 1;
+        int i = index(key, mask);
+        while (mKeys[i] != FREE_KEY && mKeys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (mKeys[i] == FREE_KEY) {
+            mKeys[i] = key;
+            mSize++;
+        }
+        mValues[i] = value;
+
+        // Keep the table at most half full
+        if (mSize * 2 > mKeys.length) {
+            rehash(mKeys.length * 2);
+        }
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return Number of keys mapped.
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    void clear() {
+        Arrays.fill(mKeys, FREE_KEY);
+        mSize = 0;
+        mHasFreeKey = false;
+    }
+
+    private void rehash(final int capacity) {
+        long[] keys = mKeys;
+        int[] values = mValues;
+        mKeys = new long[capacity];
+        mValues = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int j = 0; j < keys.length; j++) {
+            long key = keys[j];
+            if (key != FREE_KEY) {
+                int i = index(key, mask);
+                while (mKeys[i] != FREE_KEY) {
+                    i = (i + 1) & mask;
+                }
+                mKeys[i] = key;
+                mValues[i] = values[j];
+            }
+        }
+    }
+
+    /*
+     * Fibonacci hashing spreads sequential ids, which are common, across the table.
+     */
+    private static int index(final long key, final int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import android.content.Context;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Reads the value of an annotated member from a model instance. Accessors are created once
+ * during the metadata scan, so everything that can be worked out ahead of time (the method's
+ * arity, access checks) is not repeated on every bind. Accessors are stateless and can be shared
+ * between adapters and threads.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+abstract class MemberAccessor {
+
+    // Constants
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /**
+     * Returns the value of the member for the given instance.
+     *
+     * @param instance The model instance.
+     * @param context The {@link Context} passed to methods that accept one.
+     *
+     * @return The member's value, {@code null} if the value could not be read.
+     */
+    abstract Object get(Object instance, Context context);
+
+    /**
+     * Creates an accessor for a method that has no parameters or a single {@link Context}
+     * parameter.
+     */
+    static MemberAccessor forMethod(final Method method) {
+        makeAccessible(method);
+        return method.getParameterTypes().length == 0 ?
+                new MethodAccessor(method) : new ContextMethodAccessor(method);
+    }
+
+    /**
+     * Creates an accessor that reads a field directly.
+     */
+    static MemberAccessor forField(final Field field) {
+        makeAccessible(field);
+        return new FieldAccessor(field);
+    }
+
+    /**
+     * Creates an accessor that delegates to a binding of a generated {@link InstantBinder}.
+     */
+    static MemberAccessor forBinder(final InstantBinder<?> binder, final int index) {
+        return new BinderAccessor(binder, index);
+    }
+
+    /*
+     * Public members are accessible anyway, flagging them spares the access checks that the
+     * platform would otherwise perform on every invocation.
+     */
+    private static void makeAccessible(final AccessibleObject member) {
+        try {
+            member.setAccessible(true);
+        } catch (SecurityException e) {
+            if (InstantAdapterCore.DEBUG) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private static class MethodAccessor extends MemberAccessor {
+        private final Method mMethod;
+
+        MethodAccessor(final Method method) {
+            mMethod = method;
+        }
+
+        @Override
+        Object get(final Object instance, final Context context) {
+            try {
+                return mMethod.invoke(instance, NO_ARGS);
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            } catch (InvocationTargetException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    private static class ContextMethodAccessor extends MemberAccessor {
+        private final Method mMethod;
+
+        ContextMethodAccessor(final Method method) {
+            mMethod = method;
+        }
+
+        @Override
+        Object get(final Object instance, final Context context) {
+            try {
+                return mMethod.invoke(instance, context);
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            } catch (InvocationTargetException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    private static class FieldAccessor extends MemberAccessor {
+        private final Field mField;
+
+        FieldAccessor(final Field field) {
+            mField = field;
+        }
+
+        @Override
+        Object get(final Object instance, final Context context) {
+            try {
+                return mField.get(instance);
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+            } catch (IllegalAccessException e) {
+                e.printStackTrace();
+            }
+            return null;
+        }
+    }
+
+    private static class BinderAccessor extends MemberAccessor {
+        private final InstantBinder<Object> mBinder;
+        private final int mIndex;
+
+        @SuppressWarnings("unchecked")
+        BinderAccessor(final InstantBinder<?> binder, final int index) {
+            mBinder = (InstantBinder<Object>) binder;
+            mIndex = index;
+        }
+
+        @Override
+        Object get(final Object instance, final Context context) {
+            return mBinder.getValue(mIndex, instance, context);
+        }
+    }
+
+}
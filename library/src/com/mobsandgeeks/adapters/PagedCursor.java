@@ -0,0 +1,503 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import android.database.AbstractCursor;
+import android.database.CharArrayBuffer;
+import android.database.Cursor;
+import android.database.DataSetObservable;
+import android.database.DataSetObserver;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.SparseArray;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link Cursor} over a large result set that is loaded in pages of a fixed size on a
+ * background {@link Executor}, so that neither the query nor filling the cursor window ever
+ * blocks the main thread. Hand it to an {@link InstantCursorAdapter} like any other Cursor.
+ * <ul>
+ *   <li>The total count is loaded first, the list is sized as soon as it is known.</li>
+ *   <li>Pages are loaded when a row is requested, along with the next page in the direction
+ *      the list is scrolling.</li>
+ *   <li>At most {@code maxPages} pages are kept, the ones furthest from the current row are
+ *      closed first.</li>
+ * </ul>
+ *
+ * <p>
+ * Rows of pages that have not been loaded yet read as {@code NULL}, check
+ * {@link #isRowLoaded()} to show a placeholder. Registered {@link DataSetObserver}s, such as the
+ * adapter, are notified whenever the count or a page has been loaded, or could not be loaded,
+ * see {@link #isCountFailed()} and {@link #isRowFailed()}. Apart from the loading itself, a
+ * {@link PagedCursor} must only be used from the main thread.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+public class PagedCursor extends AbstractCursor {
+
+    // Constants
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGES = 6;
+
+    // Attributes
+    private final String[] mColumnNames;
+    private final PageLoader mPageLoader;
+    private final int mPageSize;
+    private final int mMaxPages;
+    private final Executor mExecutor;
+    private final Handler mHandler;
+    private final DataSetObservable mLoadObservable;
+
+    private int mCount;
+    private boolean mCountLoaded;
+    private boolean mCountFailed;
+    private int mCountGeneration;
+    private SparseArray<Page> mPages;
+    private Page mCurrentPage;
+    private boolean mScrollingForward = true;
+
+    /**
+     * Constructs a new {@link PagedCursor} that loads pages of {@link #DEFAULT_PAGE_SIZE} rows
+     * on a shared background thread and keeps at most {@link #DEFAULT_MAX_PAGES} of them.
+     *
+     * @param columnNames Names of the columns of the pages, known before any page is loaded.
+     * @param pageLoader The {@link PageLoader} that runs the queries.
+     */
+    public PagedCursor(final String[] columnNames, final PageLoader pageLoader) {
+        this(columnNames, pageLoader, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES,
+                BackgroundExecutor.get());
+    }
+
+    /**
+     * Constructs a new {@link PagedCursor} and starts loading the total count.
+     *
+     * @param columnNames Names of the columns of the pages, known before any page is loaded.
+     * @param pageLoader The {@link PageLoader} that runs the queries.
+     * @param pageSize Number of rows in a page.
+     * @param maxPages Maximum number of pages kept in memory, at least 2.
+     * @param executor The {@link Executor} to load on.
+     *
+     * @throws IllegalArgumentException If an argument is {@code null} or out of range.
+     */
+    public PagedCursor(final String[] columnNames, final PageLoader pageLoader,
+            final int pageSize, final int maxPages, final Executor executor) {
+        if (columnNames == null) {
+            throw new IllegalArgumentException("'columnNames' cannot be null.");
+        } else if (pageLoader == null) {
+            throw new IllegalArgumentException("'pageLoader' cannot be null.");
+        } else if (pageSize < 1) {
+            throw new IllegalArgumentException("'pageSize' should be positive.");
+        } else if (maxPages < 2) {
+            throw new IllegalArgumentException("'maxPages' should be at least 2.");
+        } else if (executor == null) {
+            throw new IllegalArgumentException("'executor' cannot be null.");
+        }
+
+        mColumnNames = columnNames;
+        mPageLoader = pageLoader;
+        mPageSize = pageSize;
+        mMaxPages = maxPages;
+        mExecutor = executor;
+        mHandler = new Handler(Looper.getMainLooper());
+        mLoadObservable = new DataSetObservable();
+        mPages = new SparseArray<Page>();
+
+        loadCount();
+    }
+
+    /**
+     * Runs the queries of a {@link PagedCursor}, both methods are called on its
+     * {@link Executor}. Pages are requested in any order, usually with {@code LIMIT} and
+     * {@code OFFSET}.
+     */
+    public interface PageLoader {
+
+        /**
+         * Returns the total number of rows, for instance using {@code SELECT COUNT(*)}.
+         *
+         * @return The number of rows.
+         */
+        int loadCount();
+
+        /**
+         * Returns the rows of a page.
+         *
+         * @param offset Position of the first row of the page.
+         * @param limit Maximum number of rows in the page.
+         *
+         * @return A {@link Cursor} with the page's rows and at least the columns of the
+         *          {@link PagedCursor}.
+         */
+        Cursor loadPage(int offset, int limit);
+    }
+
+    /**
+     * Tells whether the count has been loaded, {@link #getCount()} returns {@code 0} until then.
+     *
+     * @return {@code true} if the count is known.
+     */
+    public boolean isCountLoaded() {
+        return mCountLoaded;
+    }
+
+    /**
+     * Tells whether the count could not be loaded, in which case the cursor is empty. Call
+     * {@link #requery()} to try again.
+     *
+     * @return {@code true} if {@link PageLoader#loadCount()} failed.
+     */
+    public boolean isCountFailed() {
+        return mCountFailed;
+    }
+
+    /**
+     * Tells whether the page of the current row has been loaded.
+     *
+     * @return {@code true} if the current row can be read.
+     */
+    public boolean isRowLoaded() {
+        return mCurrentPage != null;
+    }
+
+    /**
+     * Tells whether the page of the current row could not be loaded. Failed pages are not
+     * requested again until {@link #retryFailedPages()} is called, or they have been evicted.
+     *
+     * @return {@code true} if {@link PageLoader#loadPage(int, int)} failed for the current row.
+     */
+    public boolean isRowFailed() {
+        Page page = mPos >= 0 ? mPages.get(mPos / mPageSize) : null;
+        return page != null && page.failed;
+    }
+
+    /**
+     * Loads the pages that could not be loaded again. Registered {@link DataSetObserver}s are
+     * notified, so that their rows are requested again.
+     */
+    public void retryFailedPages() {
+        boolean hasFailedPages = false;
+        for (int i = mPages.size() - 1; i >= 0; i--) {
+            Page page = mPages.valueAt(i);
+            if (page.failed) {
+                mPages.removeAt(i);
+                if (isCurrentRowIn(page)) {
+                    // Lets the next move to the current row load the page again
+                    mPos = -1;
+                }
+                hasFailedPages = true;
+            }
+        }
+
+        if (hasFailedPages) {
+            mLoadObservable.notifyChanged();
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    @Override
+    public String[] getColumnNames() {
+        return mColumnNames;
+    }
+
+    @Override
+    public boolean onMove(final int oldPosition, final int newPosition) {
+        if (oldPosition != -1 && oldPosition != newPosition) {
+            mScrollingForward = newPosition > oldPosition;
+        }
+
+        int pageIndex = newPosition / mPageSize;
+        Page page = requestPage(pageIndex, pageIndex);
+        requestPage(mScrollingForward ? pageIndex + 1 : pageIndex - 1, pageIndex);
+
+        mCurrentPage = page != null && page.cursor != null ? page : null;
+        if (mCurrentPage != null) {
+            mCurrentPage.cursor.moveToPosition(newPosition - page.offset);
+        }
+        return true;
+    }
+
+    @Override
+    public String getString(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getString(mCurrentPage.columns[column]) : null;
+    }
+
+    @Override
+    public void copyStringToBuffer(final int column, final CharArrayBuffer buffer) {
+        if (mCurrentPage != null) {
+            mCurrentPage.cursor.copyStringToBuffer(mCurrentPage.columns[column], buffer);
+        } else {
+            buffer.sizeCopied = 0;
+        }
+    }
+
+    @Override
+    public short getShort(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getShort(mCurrentPage.columns[column]) : 0;
+    }
+
+    @Override
+    public int getInt(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getInt(mCurrentPage.columns[column]) : 0;
+    }
+
+    @Override
+    public long getLong(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getLong(mCurrentPage.columns[column]) : 0;
+    }
+
+    @Override
+    public float getFloat(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getFloat(mCurrentPage.columns[column]) : 0;
+    }
+
+    @Override
+    public double getDouble(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getDouble(mCurrentPage.columns[column]) : 0;
+    }
+
+    @Override
+    public byte[] getBlob(final int column) {
+        return mCurrentPage != null ?
+                mCurrentPage.cursor.getBlob(mCurrentPage.columns[column]) : null;
+    }
+
+    @Override
+    public boolean isNull(final int column) {
+        return mCurrentPage == null
+                || mCurrentPage.cursor.isNull(mCurrentPage.columns[column]);
+    }
+
+    @Override
+    public void registerDataSetObserver(final DataSetObserver observer) {
+        super.registerDataSetObserver(observer);
+        mLoadObservable.registerObserver(observer);
+    }
+
+    @Override
+    public void unregisterDataSetObserver(final DataSetObserver observer) {
+        super.unregisterDataSetObserver(observer);
+        mLoadObservable.unregisterObserver(observer);
+    }
+
+    /**
+     * Loads the count and the pages again, rows read as {@code NULL} until their pages have been
+     * loaded again. Also retries after the count failed to load.
+     *
+     * @return {@code false} if the cursor is closed.
+     */
+    @Override
+    @Deprecated
+    public boolean requery() {
+        if (isClosed()) {
+            return false;
+        }
+
+        closePages();
+        mPos = -1;
+        mCountFailed = false;
+        loadCount();
+        return super.requery();
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        closePages();
+    }
+
+    private void closePages() {
+        for (int i = 0, n = mPages.size(); i < n; i++) {
+            Page page = mPages.valueAt(i);
+            if (page.cursor != null) {
+                page.cursor.close();
+            }
+        }
+        mPages.clear();
+        mCurrentPage = null;
+    }
+
+    /**
+     * A page that is being loaded ({@code cursor} is {@code null}), has been loaded or failed to
+     * load, along with the index of each of our columns in the page's {@link Cursor}.
+     */
+    private static final class Page {
+        final int offset;
+        Cursor cursor;
+        int[] columns;
+        boolean failed;
+
+        Page(final int offset) {
+            this.offset = offset;
+        }
+    }
+
+    private void loadCount() {
+        final int generation = ++mCountGeneration;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int count;
+                try {
+                    count = mPageLoader.loadCount();
+                } catch (RuntimeException e) {
+                    Log.w(InstantAdapterCore.LOG_TAG, "Cannot load the count", e);
+                    mHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!isClosed() && generation == mCountGeneration) {
+                                mCountFailed = true;
+                                mLoadObservable.notifyChanged();
+                            }
+                        }
+                    });
+                    return;
+                }
+
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isClosed() && generation == mCountGeneration) {
+                            mCount = count;
+                            mCountLoaded = true;
+                            requestPage(0, 0);
+                            mLoadObservable.notifyChanged();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private Page requestPage(final int pageIndex, final int currentPageIndex) {
+        if (pageIndex < 0 || pageIndex * mPageSize >= mCount) {
+            return null;
+        }
+
+        Page page = mPages.get(pageIndex);
+        if (page == null) {
+            page = new Page(pageIndex * mPageSize);
+            mPages.put(pageIndex, page);
+            loadPage(pageIndex, page);
+            evictPages(currentPageIndex);
+        }
+        return page;
+    }
+
+    private void loadPage(final int pageIndex, final Page page) {
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Cursor cursor = null;
+                int[] columns = null;
+                try {
+                    cursor = mPageLoader.loadPage(page.offset, mPageSize);
+
+                    // Fills the cursor window here rather than on the main thread
+                    cursor.getCount();
+                    columns = new int[mColumnNames.length];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = cursor.getColumnIndexOrThrow(mColumnNames[i]);
+                    }
+                } catch (RuntimeException e) {
+                    Log.w(InstantAdapterCore.LOG_TAG, "Cannot load the page at " + page.offset, e);
+                    if (cursor != null) {
+                        cursor.close();
+                        cursor = null;
+                    }
+                }
+
+                final Cursor loadedCursor = cursor;
+                final int[] loadedColumns = columns;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishPage(pageIndex, page, loadedCursor, loadedColumns);
+                    }
+                });
+            }
+        });
+    }
+
+    private void publishPage(final int pageIndex, final Page page, final Cursor cursor,
+            final int[] columns) {
+        boolean isWanted = !isClosed() && mPages.get(pageIndex) == page;
+        if (cursor == null) {
+            // Kept until retried, a page that keeps failing is not requested over and over
+            if (isWanted) {
+                page.failed = true;
+                mLoadObservable.notifyChanged();
+            }
+            return;
+        } else if (!isWanted) {
+            cursor.close();
+            return;
+        }
+
+        page.cursor = cursor;
+        page.columns = columns;
+
+        // Moving to the current row again does not call onMove()
+        if (isCurrentRowIn(page)) {
+            mCurrentPage = page;
+            cursor.moveToPosition(mPos - page.offset);
+        }
+        mLoadObservable.notifyChanged();
+    }
+
+    private boolean isCurrentRowIn(final Page page) {
+        return mPos >= page.offset && mPos < page.offset + mPageSize;
+    }
+
+    /*
+     * Closes the pages furthest from the current one until at most mMaxPages are left.
+     */
+    private void evictPages(final int currentPageIndex) {
+        while (mPages.size() > mMaxPages) {
+            int furthest = 0;
+            for (int i = 1, n = mPages.size(); i < n; i++) {
+                if (Math.abs(mPages.keyAt(i) - currentPageIndex)
+                        > Math.abs(mPages.keyAt(furthest) - currentPageIndex)) {
+                    furthest = i;
+                }
+            }
+
+            Page page = mPages.valueAt(furthest);
+            mPages.removeAt(furthest);
+            if (page == mCurrentPage) {
+                // Lets the next move to the current row load the page again
+                mCurrentPage = null;
+                mPos = -1;
+            }
+            if (page.cursor != null) {
+                page.cursor.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,371 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The sections of a {@link SimpleSectionAdapter}: the positions of the headers in ascending
+ * order, their keys, the order of the items when they are grouped by section and, for
+ * incremental updates, the section key of every item. Titles are looked up through the
+ * {@link KeyedSectionizer} the first time they are needed, on the main thread. Apart from that
+ * a table is never modified once built, updates build a new table so that the adapter can keep
+ * using the current one until the new one is published.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class SectionTable {
+
+    // Attributes
+    private final KeyedSectionizer<?> mSectionizer;
+    private final int[] mPositions;
+    private final long[] mKeys;
+    private final int mSectionCount;
+    private final int mItemCount;
+    private final long[] mItemKeys;
+
+    // Index in the data source of each item in section order, null if they are in the same order
+    private final int[] mItemIndices;
+
+    // Titles looked up so far, shared with resized tables
+    private final String[] mTitles;
+    private final boolean[] mTitlesLookedUp;
+
+    private SectionTable(final KeyedSectionizer<?> sectionizer, final int[] positions,
+            final long[] keys, final int sectionCount, final int itemCount,
+            final long[] itemKeys, final int[] itemIndices, final String[] titles,
+            final boolean[] titlesLookedUp) {
+        mSectionizer = sectionizer;
+        mPositions = positions;
+        mKeys = keys;
+        mSectionCount = sectionCount;
+        mItemCount = itemCount;
+        mItemKeys = itemKeys;
+        mItemIndices = itemIndices;
+        mTitles = titles;
+        mTitlesLookedUp = titlesLookedUp;
+    }
+
+    /**
+     * Returns a table without sections.
+     */
+    static SectionTable empty(final KeyedSectionizer<?> sectionizer) {
+        return new Builder(sectionizer, 1).build(0, null, null);
+    }
+
+    /**
+     * Builds a table from the section keys of the items.
+     *
+     * @param sectionizer The {@link KeyedSectionizer} that returned the keys.
+     * @param itemKeys Section key of every item.
+     * @param itemCount Number of items.
+     * @param distinct {@code true} if a key seen before does not start another section, in case
+     *          the items are not sorted. Otherwise every change of key starts a section.
+     * @param keepItemKeys {@code true} to keep the keys for {@link #update}.
+     */
+    static SectionTable build(final KeyedSectionizer<?> sectionizer, final long[] itemKeys,
+            final int itemCount, final boolean distinct, final boolean keepItemKeys) {
+        Builder builder = new Builder(sectionizer, 16);
+        LongIntMap seenKeys = distinct ? new LongIntMap() : null;
+        for (int i = 0; i < itemCount; i++) {
+            long key = itemKeys[i];
+
+            // Sorted items repeat the previous key, the set is only consulted on a change
+            if (i == 0 || key != itemKeys[i - 1]) {
+                if (seenKeys == null || seenKeys.get(key, -1) == -1) {
+                    builder.add(i, key);
+                    if (seenKeys != null) {
+                        seenKeys.put(key, i);
+                    }
+                }
+            }
+        }
+        return builder.build(itemCount, keepItemKeys ? itemKeys : null, null);
+    }
+
+    /**
+     * Builds a table that groups the items by section, so that they do not have to be sorted.
+     * Items keep their relative order within a section. The items are bucketed by key in a
+     * counting sort, which takes linear time, only the sections themselves are sorted.
+     *
+     * @param sectionizer The {@link KeyedSectionizer} that returned the keys.
+     * @param itemKeys Section key of every item.
+     * @param itemCount Number of items.
+     * @param titleComparator Order of the sections by title, {@code null} to order them by their
+     *          first item. {@code null} titles come first either way.
+     */
+    static SectionTable group(final KeyedSectionizer<?> sectionizer, final long[] itemKeys,
+            final int itemCount, final Comparator<? super String> titleComparator) {
+        // Bucket of every item, buckets numbered by first appearance
+        LongIntMap buckets = new LongIntMap();
+        int[] itemBuckets = new int[itemCount];
+        long[] bucketKeys = new long[16];
+        int[] bucketSizes = new int[16];
+        int bucketCount = 0;
+        for (int i = 0; i < itemCount; i++) {
+            long key = itemKeys[i];
+            int bucket = i > 0 && key == itemKeys[i - 1] ?
+                    itemBuckets[i - 1] : buckets.get(key, -1);
+            if (bucket == -1) {
+                if (bucketCount == bucketKeys.length) {
+                    bucketKeys = grow(bucketKeys);
+                    bucketSizes = grow(bucketSizes);
+                }
+                bucket = bucketCount++;
+                bucketKeys[bucket] = key;
+                buckets.put(key, bucket);
+            }
+            itemBuckets[i] = bucket;
+            bucketSizes[bucket]++;
+        }
+
+        // Order of the sections, titles are only needed to sort them
+        Integer[] order = new Integer[bucketCount];
+        for (int bucket = 0; bucket < bucketCount; bucket++) {
+            order[bucket] = bucket;
+        }
+        if (titleComparator != null) {
+            final String[] titles = new String[bucketCount];
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                titles[bucket] = sectionizer.getSectionTitleForKey(bucketKeys[bucket]);
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(final Integer bucket, final Integer otherBucket) {
+                    String title = titles[bucket];
+                    String otherTitle = titles[otherBucket];
+                    if (title == null || otherTitle == null) {
+                        return title == null ? (otherTitle == null ? 0 : -1) : 1;
+                    }
+                    return titleComparator.compare(title, otherTitle);
+                }
+            });
+        }
+
+        // First item of every bucket in section order, then the items placed stably
+        Builder builder = new Builder(sectionizer, bucketCount);
+        int[] bucketStarts = new int[bucketCount];
+        int start = 0;
+        for (Integer bucket : order) {
+            builder.add(start, bucketKeys[bucket]);
+            bucketStarts[bucket] = start;
+            start += bucketSizes[bucket];
+        }
+
+        int[] itemIndices = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            itemIndices[bucketStarts[itemBuckets[i]]++] = i;
+        }
+        return builder.build(itemCount, null, itemIndices);
+    }
+
+    /**
+     * Builds a table for items of which a range has been replaced, only the keys of the
+     * replaced items and of the item right after them are compared. Requires a table built with
+     * the item keys and without {@code distinct}.
+     *
+     * @param itemKeys Section key of every item after the update.
+     * @param from Index of the first replaced item.
+     * @param oldTo Index after the last replaced item, before the update.
+     * @param newTo Index after the last replacing item, after the update.
+     */
+    SectionTable update(final long[] itemKeys, final int from, final int oldTo,
+            final int newTo) {
+        int itemCount = mItemCount + newTo - oldTo;
+        Builder builder = new Builder(mSectionizer, mSectionCount + newTo - from + 1);
+
+        // Sections starting before the range are unaffected
+        int section = 0;
+        for (; section < mSectionCount && itemIndex(section) < from; section++) {
+            builder.add(itemIndex(section), mKeys[section]);
+        }
+
+        // Whether the item after the range starts a section depends on the range as well
+        int end = Math.min(newTo + 1, itemCount);
+        for (int i = from; i < end; i++) {
+            if (i == 0 || itemKeys[i] != itemKeys[i - 1]) {
+                builder.add(i, itemKeys[i]);
+            }
+        }
+
+        // Sections starting after that are shifted
+        int shift = newTo - oldTo;
+        for (; section < mSectionCount; section++) {
+            if (itemIndex(section) > oldTo) {
+                builder.add(itemIndex(section) + shift, mKeys[section]);
+            }
+        }
+        return builder.build(itemCount, itemKeys, null);
+    }
+
+    /**
+     * Returns a table for the given number of items that keeps the current sections, used while
+     * the sections of a changed data set are computed. Sections past the end are dropped, extra
+     * items join the last section. Grouped items can only be kept if their number did not
+     * change, otherwise they are shown in their original order without sections.
+     */
+    SectionTable resize(final int itemCount) {
+        if (mItemIndices != null) {
+            return itemCount == mItemCount ? this : empty(mSectionizer).resize(itemCount);
+        }
+
+        int sectionCount = mSectionCount;
+        while (sectionCount > 0 && itemIndex(sectionCount - 1) >= itemCount) {
+            sectionCount--;
+        }
+        return new SectionTable(mSectionizer, mPositions, mKeys, sectionCount, itemCount, null,
+                null, mTitles, mTitlesLookedUp);
+    }
+
+    int getCount() {
+        return mItemCount + mSectionCount;
+    }
+
+    int getItemCount() {
+        return mItemCount;
+    }
+
+    int getSectionCount() {
+        return mSectionCount;
+    }
+
+    /**
+     * Returns the item keys the table was built with, {@code null} if they were not kept.
+     */
+    long[] getItemKeys() {
+        return mItemKeys;
+    }
+
+    int getIndexForPosition(final int position) {
+        // Number of headers above the position
+        int index = binarySearch(position);
+        int itemIndex = position - (index >= 0 ? index : -(index + 1));
+        return mItemIndices != null ? mItemIndices[itemIndex] : itemIndex;
+    }
+
+    boolean isSectionHeader(final int position) {
+        return binarySearch(position) >= 0;
+    }
+
+    String getTitleForPosition(final int position) {
+        int index = binarySearch(position);
+        return index >= 0 ? getTitle(index) : null;
+    }
+
+    int getPositionForSection(final int section) {
+        if (mSectionCount == 0) {
+            return 0;
+        }
+        return mPositions[Math.max(0, Math.min(section, mSectionCount - 1))];
+    }
+
+    int getSectionForPosition(final int position) {
+        // Last header at or above the position
+        int index = binarySearch(position);
+        return Math.max(index >= 0 ? index : -(index + 1) - 1, 0);
+    }
+
+    String[] getTitles() {
+        String[] titles = new String[mSectionCount];
+        for (int i = 0; i < mSectionCount; i++) {
+            titles[i] = getTitle(i);
+        }
+        return titles;
+    }
+
+    private String getTitle(final int section) {
+        if (!mTitlesLookedUp[section]) {
+            mTitles[section] = mSectionizer.getSectionTitleForKey(mKeys[section]);
+            mTitlesLookedUp[section] = true;
+        }
+        return mTitles[section];
+    }
+
+    private int itemIndex(final int section) {
+        return mPositions[section] - section;
+    }
+
+    /*
+     * Same contract as Arrays.binarySearch() over the headers, whose ranged variant is not
+     * available on all API levels.
+     */
+    private int binarySearch(final int position) {
+        int low = 0;
+        int high = mSectionCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middlePosition = mPositions[middle];
+
+            if (middlePosition < position) {
+                low = middle + 1;
+            } else if (middlePosition > position) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static long[] grow(final long[] array) {
+        long[] grown = new long[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static int[] grow(final int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    /**
+     * Collects sections in ascending order of their first item.
+     */
+    private static final class Builder {
+        private final KeyedSectionizer<?> mSectionizer;
+        private int[] mPositions;
+        private long[] mKeys;
+        private int mCount;
+
+        Builder(final KeyedSectionizer<?> sectionizer, final int capacity) {
+            mSectionizer = sectionizer;
+            mPositions = new int[Math.max(capacity, 1)];
+            mKeys = new long[mPositions.length];
+        }
+
+        void add(final int itemIndex, final long key) {
+            if (mCount == mPositions.length) {
+                mPositions = grow(mPositions);
+                mKeys = grow(mKeys);
+            }
+
+            // Every header above pushes the section down by one
+            mPositions[mCount] = itemIndex + mCount;
+            mKeys[mCount] = key;
+            mCount++;
+        }
+
+        SectionTable build(final int itemCount, final long[] itemKeys,
+                final int[] itemIndices) {
+            return new SectionTable(mSectionizer, mPositions, mKeys, mCount, itemCount,
+                    itemKeys, itemIndices, new String[mCount], new boolean[mCount]);
+        }
+    }
+
+}
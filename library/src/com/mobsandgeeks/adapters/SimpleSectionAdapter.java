@@ -17,27 +17,37 @@
 package com.mobsandgeeks.adapters;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.BaseAdapter;
 import android.widget.ListAdapter;
 import android.widget.ListView;
+import android.widget.SectionIndexer;
 import android.widget.TextView;
 
-import java.util.LinkedHashMap;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Comparator;
+import java.util.concurrent.Executor;
 
 /**
  * A very simple adapter that adds sections to adapters written for {@link ListView}s.
  * <br />
- * <b>NOTE: The adapter assumes that the data source of the decorated list adapter is sorted.</b>
+ * <b>NOTE: The adapter assumes that the data source of the decorated list adapter is sorted, 
+ * unless items are grouped through {@link #setGroupItems(boolean, Comparator)}.</b>
+ * <br />
+ * Sections are kept as sorted header positions, so that mapping between positions and sections
+ * takes O(log(sections)). The adapter is also a {@link SectionIndexer}, set
+ * {@link ListView#setFastScrollEnabled(boolean)} to scroll through the sections.
+ * <br />
+ * For large lists, sections can be computed on a background {@link Executor} and updated
+ * incrementally, see {@link #setIncrementalSections(boolean)}.
  *
  * @author Ragunath Jawahar R <rj@mobsandgeeks.com>
  * @version 0.2
  */
-public class SimpleSectionAdapter<T> extends BaseAdapter {
+public class SimpleSectionAdapter<T> extends BaseAdapter implements SectionIndexer {
     // Debug
     static final boolean DEBUG = false;
     static final String TAG = SimpleSectionAdapter.class.getSimpleName();
@@ -50,8 +60,18 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
     private BaseAdapter mListAdapter;
     private int mSectionHeaderLayoutId;
     private int mSectionTitleTextViewId;
-    private Sectionizer<T> mSectionizer;
-    private LinkedHashMap<String, Integer> mSections;
+    private KeyedSectionizer<T> mSectionizer;
+    private InstantMetrics.Listener mMetricsListener;
+
+    // Sections
+    private SectionTable mSectionTable;
+    private boolean mIncremental;
+    private boolean mGroupItems;
+    private Comparator<String> mTitleComparator;
+    private Executor mExecutor;
+    private Handler mHandler;
+    private int mSectionsGeneration;
+    private boolean mSectionsPending;
 
     /**
      * Constructs a {@linkplain SimpleSectionAdapter}.
@@ -65,6 +85,64 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
     public SimpleSectionAdapter(Context context, BaseAdapter listAdapter, 
             int sectionHeaderLayoutId, int sectionTitleTextViewId, 
             Sectionizer<T> sectionizer) {
+        this(context, listAdapter, sectionHeaderLayoutId, sectionTitleTextViewId, sectionizer, 
+                null);
+    }
+
+    /**
+     * Constructs a {@linkplain SimpleSectionAdapter} that computes its sections on the given 
+     * {@link Executor}. The items are read on the calling thread, only the {@link Sectionizer} 
+     * is called on the executor. Until the sections have been computed the list shows the items 
+     * without headers.
+     * 
+     * @param context The context for this adapter.
+     * @param listAdapter A {@link ListAdapter} that has to be sectioned.
+     * @param sectionHeaderLayoutId Layout Id of the layout that is to be used for the header. 
+     * @param sectionTitleTextViewId Id of a TextView present in the section header layout.
+     * @param sectionizer Sectionizer for sectioning the {@link ListView}.
+     * @param executor The {@link Executor} to compute sections on, {@code null} to compute them 
+     *          on the calling thread.
+     */
+    public SimpleSectionAdapter(Context context, BaseAdapter listAdapter, 
+            int sectionHeaderLayoutId, int sectionTitleTextViewId, 
+            Sectionizer<T> sectionizer, Executor executor) {
+        this(context, listAdapter, sectionHeaderLayoutId, sectionTitleTextViewId, 
+                sectionizer != null ? new TitleSectionizer<T>(sectionizer) : null, executor);
+    }
+
+    /**
+     * Constructs a {@linkplain SimpleSectionAdapter} that identifies sections by the keys 
+     * returned by a {@link KeyedSectionizer}, titles are only looked up for the headers shown.
+     * 
+     * @param context The context for this adapter.
+     * @param listAdapter A {@link ListAdapter} that has to be sectioned.
+     * @param sectionHeaderLayoutId Layout Id of the layout that is to be used for the header. 
+     * @param sectionTitleTextViewId Id of a TextView present in the section header layout.
+     * @param sectionizer KeyedSectionizer for sectioning the {@link ListView}.
+     */
+    public SimpleSectionAdapter(Context context, BaseAdapter listAdapter, 
+            int sectionHeaderLayoutId, int sectionTitleTextViewId, 
+            KeyedSectionizer<T> sectionizer) {
+        this(context, listAdapter, sectionHeaderLayoutId, sectionTitleTextViewId, sectionizer, 
+                null);
+    }
+
+    /**
+     * Constructs a {@linkplain SimpleSectionAdapter} that identifies sections by the keys 
+     * returned by a {@link KeyedSectionizer} and computes them on the given {@link Executor}, 
+     * see {@link #SimpleSectionAdapter(Context, BaseAdapter, int, int, Sectionizer, Executor)}.
+     * 
+     * @param context The context for this adapter.
+     * @param listAdapter A {@link ListAdapter} that has to be sectioned.
+     * @param sectionHeaderLayoutId Layout Id of the layout that is to be used for the header. 
+     * @param sectionTitleTextViewId Id of a TextView present in the section header layout.
+     * @param sectionizer KeyedSectionizer for sectioning the {@link ListView}.
+     * @param executor The {@link Executor} to compute sections on, {@code null} to compute them 
+     *          on the calling thread.
+     */
+    public SimpleSectionAdapter(Context context, BaseAdapter listAdapter, 
+            int sectionHeaderLayoutId, int sectionTitleTextViewId, 
+            KeyedSectionizer<T> sectionizer, Executor executor) {
         if(context == null) {
             throw new IllegalArgumentException("context cannot be null.");
         } else if(listAdapter == null) {
@@ -80,7 +158,8 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
         this.mSectionHeaderLayoutId = sectionHeaderLayoutId;
         this.mSectionTitleTextViewId = sectionTitleTextViewId;
         this.mSectionizer = sectionizer;
-        this.mSections = new LinkedHashMap<String, Integer>();
+        this.mSectionTable = SectionTable.empty(sectionizer);
+        this.mExecutor = executor;
 
         // Find sections
         findSections();
@@ -95,7 +174,7 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
 
     @Override
     public int getCount() {
-        return mListAdapter.getCount() + getSectionCount();
+        return mSectionTable.getCount();
     }
 
     @Override
@@ -134,15 +213,14 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
     @Override
     public boolean areAllItemsEnabled() {
         return mListAdapter.areAllItemsEnabled() ? 
-                mSections.size() == 0 : false;
+                getSectionCount() == 0 : false;
     }
 
     @Override
     public int getItemViewType(int position) {
-        int positionInCustomAdapter = getIndexForPosition(position);
-        return mSections.values().contains(position) ? 
+        return isSectionHeader(position) ? 
                 VIEW_TYPE_SECTION_HEADER : 
-                    mListAdapter.getItemViewType(positionInCustomAdapter) + 1;
+                    mListAdapter.getItemViewType(getIndexForPosition(position)) + 1;
     }
 
     @Override
@@ -152,7 +230,7 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
 
     @Override
     public boolean isEnabled(int position) {
-        return mSections.values().contains(position) ? 
+        return isSectionHeader(position) ? 
                 false : mListAdapter.isEnabled(getIndexForPosition(position));
     }
 
@@ -173,6 +251,76 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
         super.notifyDataSetChanged();
     }
 
+    /**
+     * Memoizes the section of every item, so that the {@link Sectionizer} is only called 
+     * for the items passed to {@link #notifyItemRangeInserted(int, int)}, 
+     * {@link #notifyItemRangeRemoved(int, int)} and {@link #notifyItemRangeChanged(int, int)}, 
+     * and headers are only recomputed around them. Requires the data source to be sorted, a 
+     * section starts wherever an item's section differs from the previous item's. Changing the 
+     * mode computes all sections again.
+     * 
+     * @param incremental {@code true} to update sections incrementally, {@code false} otherwise.
+     */
+    public void setIncrementalSections(boolean incremental) {
+        if(incremental != mIncremental) {
+            this.mIncremental = incremental;
+            findSections();
+            super.notifyDataSetChanged();
+        }
+    }
+
+    /**
+     * Groups the items by section, so that the data source of the decorated list adapter 
+     * does not have to be sorted. Positions are mapped to the data source through an index that 
+     * lists the items section by section, in their original order within a section. The data 
+     * source itself is neither copied nor sorted. Computes all sections again, on the 
+     * {@link Executor} if one was given. While items are grouped, sections are not updated 
+     * incrementally.
+     * 
+     * @param groupItems {@code true} to group the items, {@code false} otherwise.
+     * @param titleComparator Order of the sections, {@code null} to order them by their first 
+     *          item in the data source.
+     */
+    public void setGroupItems(boolean groupItems, Comparator<String> titleComparator) {
+        this.mGroupItems = groupItems;
+        this.mTitleComparator = titleComparator;
+        findSections();
+        super.notifyDataSetChanged();
+    }
+
+    /**
+     * Notifies that items have been inserted into the data source of the decorated list adapter.
+     * Falls back to {@link #notifyDataSetChanged()} unless sections are updated incrementally.
+     * 
+     * @param positionStart Index of the first new item in the data source.
+     * @param itemCount Number of items inserted.
+     */
+    public void notifyItemRangeInserted(int positionStart, int itemCount) {
+        updateSections(positionStart, positionStart, positionStart + itemCount);
+    }
+
+    /**
+     * Notifies that items have been removed from the data source of the decorated list adapter.
+     * Falls back to {@link #notifyDataSetChanged()} unless sections are updated incrementally.
+     * 
+     * @param positionStart Former index of the first removed item in the data source.
+     * @param itemCount Number of items removed.
+     */
+    public void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        updateSections(positionStart, positionStart + itemCount, positionStart);
+    }
+
+    /**
+     * Notifies that items of the data source of the decorated list adapter have changed. Falls 
+     * back to {@link #notifyDataSetChanged()} unless sections are updated incrementally.
+     * 
+     * @param positionStart Index of the first changed item in the data source.
+     * @param itemCount Number of items changed.
+     */
+    public void notifyItemRangeChanged(int positionStart, int itemCount) {
+        updateSections(positionStart, positionStart + itemCount, positionStart + itemCount);
+    }
+
     /**
      * Returns the actual index of the object in the data source linked to the this list item.
      * 
@@ -180,56 +328,191 @@ public class SimpleSectionAdapter<T> extends BaseAdapter {
      * @return Index of the item in the wrapped list adapter's data source.
      */
     public int getIndexForPosition(int position) {
-        int nSections = 0;
+        return mSectionTable.getIndexForPosition(position);
+    }
 
-        Set<Entry<String, Integer>> entrySet = mSections.entrySet();
-        for(Entry<String, Integer> entry : entrySet) {
-            if(entry.getValue() < position) {
-                nSections++;
-            }
-        }
+    @Override
+    public Object[] getSections() {
+        return mSectionTable.getTitles();
+    }
 
-        return position - nSections;
+    @Override
+    public int getPositionForSection(int section) {
+        return mSectionTable.getPositionForSection(section);
+    }
+
+    @Override
+    public int getSectionForPosition(int position) {
+        return mSectionTable.getSectionForPosition(position);
     }
 
     static class SectionHolder {
         public TextView titleTextView;
     }
 
+    /**
+     * Sets a {@link InstantMetrics.Listener} that is told how long finding sections takes. It
+     * takes precedence over the global listener set on {@link InstantMetrics}.
+     *
+     * @param listener The {@link InstantMetrics.Listener}, {@code null} to remove it.
+     */
+    public void setMetricsListener(InstantMetrics.Listener listener) {
+        this.mMetricsListener = listener;
+    }
+
     private void findSections() {
         int n = mListAdapter.getCount();
-        int nSections = 0;
-        mSections.clear();
+        if(mExecutor == null) {
+            InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
+            long start = listener != null ? System.nanoTime() : 0;
+            InstantMetrics.beginSection("SimpleSectionAdapter#findSections");
+
+            long[] itemKeys = new long[n];
+            for(int i=0; i<n; i++) {
+                itemKeys[i] = getSectionKey(mSectionizer, mListAdapter.getItem(i));
+            }
+            publishSections(buildSections(mSectionizer, itemKeys, mIncremental, mGroupItems, 
+                    mTitleComparator), listener != null ? System.nanoTime() - start : 0);
+
+            InstantMetrics.endSection();
+            return;
+        }
 
+        // Items are read here, the data source may not be safe to read on the executor
+        final Object[] items = new Object[n];
         for(int i=0; i<n; i++) {
-            String sectionName = mSectionizer.getSectionTitleForItem((T) mListAdapter.getItem(i));
+            items[i] = mListAdapter.getItem(i);
+        }
+
+        // The current sections are kept until the new ones are ready
+        final int generation = ++mSectionsGeneration;
+        final boolean incremental = mIncremental;
+        final boolean groupItems = mGroupItems;
+        final Comparator<String> titleComparator = mTitleComparator;
+        final KeyedSectionizer<T> sectionizer = mSectionizer;
+        mSectionTable = mSectionTable.resize(n);
+        mSectionsPending = true;
+        if(mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+        }
 
-            if(!mSections.containsKey(sectionName)) {
-                mSections.put(sectionName, i + nSections);
-                nSections ++;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                InstantMetrics.beginSection("SimpleSectionAdapter#findSections");
+
+                final SectionTable sectionTable;
+                try {
+                    long[] itemKeys = new long[items.length];
+                    for(int i=0; i<items.length; i++) {
+                        itemKeys[i] = getSectionKey(sectionizer, items[i]);
+                    }
+                    sectionTable = buildSections(sectionizer, itemKeys, incremental, 
+                            groupItems, titleComparator);
+                } catch(RuntimeException e) {
+                    Log.w(TAG, "Cannot find sections", e);
+                    mHandler.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if(generation == mSectionsGeneration) {
+                                // Items are shown without sections rather than stale ones
+                                mSectionsPending = false;
+                                mSectionTable = SectionTable.empty(sectionizer)
+                                        .resize(mListAdapter.getCount());
+                                SimpleSectionAdapter.super.notifyDataSetChanged();
+                            }
+                        }
+                    });
+                    return;
+                } finally {
+                    InstantMetrics.endSection();
+                }
+
+                final long durationNanos = System.nanoTime() - start;
+                mHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if(generation == mSectionsGeneration) {
+                            mSectionsPending = false;
+                            publishSections(sectionTable, durationNanos);
+                            SimpleSectionAdapter.super.notifyDataSetChanged();
+                        }
+                    }
+                });
             }
+        });
+    }
+
+    /*
+     * Items come from the wrapped ListAdapter, which is untyped.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> long getSectionKey(KeyedSectionizer<T> sectionizer, Object item) {
+        return sectionizer.getSectionKeyForItem((T) item);
+    }
+
+    private static SectionTable buildSections(KeyedSectionizer<?> sectionizer, long[] itemKeys, 
+            boolean incremental, boolean groupItems, Comparator<String> titleComparator) {
+        if(groupItems) {
+            return SectionTable.group(sectionizer, itemKeys, itemKeys.length, titleComparator);
+        }
+        return SectionTable.build(sectionizer, itemKeys, itemKeys.length, !incremental, 
+                incremental);
+    }
+
+    private void publishSections(SectionTable sectionTable, long durationNanos) {
+        this.mSectionTable = sectionTable;
+
+        InstantMetrics.Listener listener = InstantMetrics.listenerFor(mMetricsListener);
+        if(listener != null) {
+            listener.onSectionsFound(sectionTable.getItemCount(), 
+                    sectionTable.getSectionCount(), durationNanos);
         }
 
         if(DEBUG) {
-            Log.d(TAG, String.format("Found %d sections.", mSections.size()));
+            Log.d(TAG, String.format("Found %d sections.", sectionTable.getSectionCount()));
         }
     }
 
+    /*
+     * Items [from, oldTo) of the data source have been replaced by items [from, newTo).
+     */
+    private void updateSections(int from, int oldTo, int newTo) {
+        SectionTable sectionTable = mSectionTable;
+        long[] oldItemKeys = sectionTable.getItemKeys();
+        int n = mListAdapter.getCount();
+
+        if(!mIncremental || mGroupItems || mSectionsPending || oldItemKeys == null 
+                || from < 0 || from > oldTo || oldTo > sectionTable.getItemCount() 
+                || sectionTable.getItemCount() - oldTo + newTo != n) {
+            notifyDataSetChanged();
+            return;
+        }
+
+        mListAdapter.notifyDataSetChanged();
+
+        long[] itemKeys = new long[n];
+        System.arraycopy(oldItemKeys, 0, itemKeys, 0, from);
+        System.arraycopy(oldItemKeys, oldTo, itemKeys, newTo, n - newTo);
+        for(int i=from; i<newTo; i++) {
+            itemKeys[i] = getSectionKey(mSectionizer, mListAdapter.getItem(i));
+        }
+        this.mSectionTable = sectionTable.update(itemKeys, from, oldTo, newTo);
+
+        super.notifyDataSetChanged();
+    }
+
     private int getSectionCount() {
-        return mSections.size();
+        return mSectionTable.getSectionCount();
     }
 
-    private String sectionTitleForPosition(int position) {
-        String title = null;
+    private boolean isSectionHeader(int position) {
+        return mSectionTable.isSectionHeader(position);
+    }
 
-        Set<Entry<String, Integer>> entrySet = mSections.entrySet();
-        for(Entry<String, Integer> entry : entrySet) {
-            if(entry.getValue() == position) {
-                title = entry.getKey();
-                break;
-            }
-        }
-        return title;
+    private String sectionTitleForPosition(int position) {
+        return mSectionTable.getTitleForPosition(position);
     }
 
 }
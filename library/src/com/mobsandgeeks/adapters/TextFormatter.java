@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters;
+
+import java.text.DateFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.FieldPosition;
+import java.util.ArrayList;
+import java.util.Formatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats the values of {@link InstantText} annotated members into a reusable buffer. Format
+ * strings are parsed once into a {@link Pattern}. Patterns made up of literal text and plain
+ * {@code %s} or {@code %d} conversions are rendered by appending directly to the buffer, anything
+ * else is handed over to a {@link Formatter} that writes into the same buffer. Dates are
+ * formatted into a reusable {@link StringBuffer}.
+ * <p>
+ * Instances are not thread-safe, each adapter owns one and uses it from the main thread.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+final class TextFormatter {
+
+    // Constants
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    // Buffers
+    private final StringBuilder mText;
+    private final StringBuffer mDateText;
+    private final FieldPosition mFieldPosition;
+    private final Formatter mFormatter;
+    private final Object[] mArguments;
+
+    // Attributes
+    private final boolean mPlainDigits;
+
+    TextFormatter() {
+        Locale locale = Locale.getDefault();
+        DecimalFormatSymbols symbols = new DecimalFormatSymbols(locale);
+
+        mText = new StringBuilder(64);
+        mDateText = new StringBuffer(32);
+        mFieldPosition = new FieldPosition(0);
+        mFormatter = new Formatter(mText, locale);
+        mArguments = new Object[1];
+        mPlainDigits = symbols.getZeroDigit() == '0' && symbols.getMinusSign() == '-';
+    }
+
+    /**
+     * Formats a value the way {@code String.format(pattern, dateFormat.format(value))} would.
+     *
+     * @param value The value to be formatted, cannot be {@code null}.
+     * @param dateFormat The {@link DateFormat} to apply first, can be {@code null}.
+     * @param pattern The compiled format string, can be {@code null}.
+     *
+     * @return The buffer holding the formatted text. Its contents are valid until the next call.
+     */
+    StringBuilder format(final Object value, final DateFormat dateFormat, final Pattern pattern) {
+        mText.setLength(0);
+
+        StringBuffer dateText = null;
+        if (dateFormat != null) {
+            mDateText.setLength(0);
+            dateText = dateFormat.format(value, mDateText, mFieldPosition);
+        }
+
+        if (pattern == null) {
+            appendArgument(value, dateText);
+        } else if (canAppend(pattern, value, dateText)) {
+            int nConversions = pattern.conversions.length;
+            for (int i = 0; i < nConversions; i++) {
+                mText.append(pattern.literals[i]);
+                appendArgument(value, dateText);
+            }
+            mText.append(pattern.literals[nConversions]);
+        } else {
+            mArguments[0] = dateText != null ? dateText.toString() : value;
+            mFormatter.format(pattern.source, mArguments);
+            mArguments[0] = null;
+        }
+
+        return mText;
+    }
+
+    private boolean canAppend(final Pattern pattern, final Object value,
+            final StringBuffer dateText) {
+        if (pattern.conversions == null) {
+            return false;
+        } else if (!pattern.hasDecimalConversion) {
+            return true;
+        }
+
+        // %d only works with integral values, and is localized in some locales
+        return mPlainDigits && dateText == null && (value instanceof Integer
+                || value instanceof Long || value instanceof Short || value instanceof Byte);
+    }
+
+    private void appendArgument(final Object value, final StringBuffer dateText) {
+        if (dateText != null) {
+            mText.append(dateText);
+        } else if (value instanceof CharSequence) {
+            mText.append((CharSequence) value);
+        } else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            mText.append(((Number) value).longValue());
+        } else if (value instanceof Double) {
+            mText.append(((Double) value).doubleValue());
+        } else if (value instanceof Float) {
+            mText.append(((Float) value).floatValue());
+        } else if (value instanceof Boolean) {
+            mText.append(((Boolean) value).booleanValue());
+        } else if (value instanceof Character) {
+            mText.append(((Character) value).charValue());
+        } else {
+            mText.append(String.valueOf(value));
+        }
+    }
+
+    /**
+     * A format string parsed into literal text and the conversions in between. Immutable, can
+     * be shared between adapters.
+     */
+    static final class Pattern {
+        final String source;
+        final String[] literals;
+        final char[] conversions;
+        final boolean hasDecimalConversion;
+
+        private Pattern(final String source, final String[] literals, final char[] conversions) {
+            this.source = source;
+            this.literals = literals;
+            this.conversions = conversions;
+
+            boolean hasDecimalConversion = false;
+            if (conversions != null) {
+                for (char conversion : conversions) {
+                    hasDecimalConversion |= conversion == 'd';
+                }
+            }
+            this.hasDecimalConversion = hasDecimalConversion;
+        }
+
+        /**
+         * Parses a format string.
+         *
+         * @param source The format string.
+         *
+         * @return The compiled {@link Pattern} or {@code null} if {@code source} is empty.
+         */
+        static Pattern compile(final String source) {
+            if (source == null || source.length() == 0) {
+                return null;
+            }
+
+            List<String> literals = new ArrayList<String>();
+            StringBuilder conversions = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+
+            int i = 0;
+            int length = source.length();
+            while (i < length) {
+                char c = source.charAt(i);
+                if (c != '%') {
+                    literal.append(c);
+                    i++;
+                    continue;
+                }
+
+                // Only the first argument exists, "%1$s" is the same as "%s"
+                int conversionIndex = source.startsWith("1$", i + 1) ? i + 3 : i + 1;
+                if (conversionIndex >= length) {
+                    return new Pattern(source, null, null);
+                }
+
+                char conversion = source.charAt(conversionIndex);
+                boolean isPlain = conversionIndex == i + 1;
+                if (conversion == '%' && isPlain) {
+                    literal.append('%');
+                } else if (conversion == 'n' && isPlain) {
+                    literal.append(LINE_SEPARATOR);
+                } else if (conversion == 's' || conversion == 'd') {
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    conversions.append(conversion);
+                } else {
+                    // Flags, widths, precisions and other conversions go to the Formatter
+                    return new Pattern(source, null, null);
+                }
+                i = conversionIndex + 1;
+            }
+            literals.add(literal.toString());
+
+            char[] conversionsArray = new char[conversions.length()];
+            conversions.getChars(0, conversionsArray.length, conversionsArray, 0);
+
+            return new Pattern(source, literals.toArray(new String[literals.size()]),
+                    conversionsArray);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.mobsandgeeks.adapters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Adapts a {@link Sectionizer} to a {@link KeyedSectionizer}, every distinct title is assigned
+ * the next key. Keys stay valid for as long as the adapter lives, so that memoized keys remain
+ * comparable, which means that the titles are kept as well. Thread-safe, items may be sectioned
+ * on an executor while titles are looked up on the main thread.
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ *
+ * @param <T> Type of the items.
+ */
+final class TitleSectionizer<T> implements KeyedSectionizer<T> {
+
+    // Attributes
+    private final Sectionizer<T> mSectionizer;
+    private final HashMap<String, Long> mKeys;
+    private final ArrayList<String> mTitles;
+
+    // Sorted items repeat the previous title, which saves hashing it
+    private String mLastTitle;
+    private long mLastKey = -1;
+
+    TitleSectionizer(final Sectionizer<T> sectionizer) {
+        mSectionizer = sectionizer;
+        mKeys = new HashMap<String, Long>();
+        mTitles = new ArrayList<String>();
+    }
+
+    @Override
+    public synchronized long getSectionKeyForItem(final T instance) {
+        String title = mSectionizer.getSectionTitleForItem(instance);
+        if (mLastKey != -1 && (title == null ? mLastTitle == null : title.equals(mLastTitle))) {
+            return mLastKey;
+        }
+
+        Long key = mKeys.get(title);
+        if (key == null) {
+            key = (long) mTitles.size();
+            mTitles.add(title);
+            mKeys.put(title, key);
+        }
+
+        mLastTitle = title;
+        mLastKey = key;
+        return key;
+    }
+
+    @Override
+    public synchronized String getSectionTitleForKey(final long sectionKey) {
+        return mTitles.get((int) sectionKey);
+    }
+
+}
@@ -0,0 +1,481 @@
+/*
+ * Copyright (c) 2013 Mobs & Geeks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file
+ * except in compliance with the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the
+ * License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.mobsandgeeks.adapters.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor that generates an {@code InstantBinder} for every model that has
+ * {@code InstantText}, {@code InstantImage} or {@code InstantId} annotated methods or fields.
+ * The generated {@code <Model>$$InstantBinder} calls the annotated methods and reads the
+ * annotated fields directly, so
+ * {@code InstantAdapterCore} does not have to discover them through reflection or call them
+ * using {@code Method.invoke()}.
+ * <p>
+ * The processor validates the annotated methods against the same rules that are enforced at
+ * runtime and reports violations as compilation errors.
+ * </p>
+ *
+ * @author Ragunath Jawahar <rj@mobsandgeeks.com>
+ */
+@SupportedAnnotationTypes({
+        InstantBinderProcessor.INSTANT_TEXT,
+        InstantBinderProcessor.INSTANT_IMAGE,
+        InstantBinderProcessor.INSTANT_ID
+})
+public class InstantBinderProcessor extends AbstractProcessor {
+
+    // Names
+    static final String INSTANT_TEXT = "com.mobsandgeeks.adapters.InstantText";
+    static final String INSTANT_IMAGE = "com.mobsandgeeks.adapters.InstantImage";
+    static final String INSTANT_ID = "com.mobsandgeeks.adapters.InstantId";
+    static final String INSTANT_BINDER = "com.mobsandgeeks.adapters.InstantBinder";
+    static final String INSTANT_ID_BINDER = "com.mobsandgeeks.adapters.InstantIdBinder";
+    static final String CONTEXT = "android.content.Context";
+    static final String SUFFIX = "$$InstantBinder";
+
+    // Attributes
+    private Elements mElements;
+    private Types mTypes;
+    private Filer mFiler;
+    private Messager mMessager;
+
+    @Override
+    public synchronized void init(final ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        mElements = processingEnv.getElementUtils();
+        mTypes = processingEnv.getTypeUtils();
+        mFiler = processingEnv.getFiler();
+        mMessager = processingEnv.getMessager();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+            final RoundEnvironment roundEnv) {
+        TypeElement instantText = mElements.getTypeElement(INSTANT_TEXT);
+        if (instantText == null) {
+            return false;
+        }
+
+        // Older versions of the library do not have @InstantImage or @InstantId
+        TypeElement instantImage = mElements.getTypeElement(INSTANT_IMAGE);
+        TypeElement instantId = mElements.getTypeElement(INSTANT_ID);
+
+        Set<TypeElement> models = new LinkedHashSet<TypeElement>();
+        addModels(models, roundEnv.getElementsAnnotatedWith(instantText));
+        if (instantImage != null) {
+            addModels(models, roundEnv.getElementsAnnotatedWith(instantImage));
+        }
+        if (instantId != null) {
+            addModels(models, roundEnv.getElementsAnnotatedWith(instantId));
+        }
+
+        for (TypeElement model : models) {
+            if (!isAccessibleFromPackage(model)) {
+                mMessager.printMessage(Kind.WARNING, String.format("%s is not accessible " +
+                        "from its package, it will be bound using reflection.",
+                            model.getQualifiedName()), model);
+                continue;
+            }
+
+            List<Binding> bindings = findBindings(model, instantText, instantImage);
+            List<Element> idMembers = findIdMembers(model, instantId);
+            if (bindings != null && validateIdMembers(model, idMembers)) {
+                writeBinder(model, bindings, idMembers.isEmpty() ? null : idMembers.get(0));
+            }
+        }
+
+        return false;
+    }
+
+    private static void addModels(final Set<TypeElement> models,
+            final Set<? extends Element> annotatedElements) {
+        for (Element element : annotatedElements) {
+            Element enclosingElement = element.getEnclosingElement();
+            if (enclosingElement.getKind() == ElementKind.CLASS) {
+                models.add((TypeElement) enclosingElement);
+            }
+        }
+    }
+
+    /**
+     * Holds an annotated method or field and the attributes of its annotation.
+     */
+    private static class Binding {
+        Element member;
+        boolean isField;
+        boolean hasContextParameter;
+        int viewId;
+        int datePatternResId;
+        String datePattern = "";
+        int formatStringResId;
+        String formatString = "";
+        boolean isHtml;
+        boolean isImage;
+        int placeholderResId;
+    }
+
+    private boolean isAccessibleFromPackage(final TypeElement model) {
+        Element element = model;
+        while (element.getKind() != ElementKind.PACKAGE) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (element instanceof TypeElement
+                    && ((TypeElement) element).getNestingKind() == NestingKind.MEMBER
+                    && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /*
+     * Walks the class hierarchy in the same order as InstantAdapterCore so that the generated
+     * binder resolves duplicate view ids exactly like the reflection based scan.
+     */
+    private List<Binding> findBindings(final TypeElement model, final TypeElement instantText,
+            final TypeElement instantImage) {
+        List<Binding> bindings = new ArrayList<Binding>();
+        boolean valid = true;
+
+        TypeElement clazz = model;
+        while (clazz != null && !clazz.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (ExecutableElement method : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+                for (AnnotationMirror mirror : findAnnotationMirrors(method, instantText,
+                        instantImage)) {
+                    Binding binding = new Binding();
+                    binding.member = method;
+                    valid &= validate(model, method, binding);
+                    readAnnotationValues(mirror, binding, instantImage);
+                    bindings.add(binding);
+                }
+            }
+            for (VariableElement field : ElementFilter.fieldsIn(clazz.getEnclosedElements())) {
+                for (AnnotationMirror mirror : findAnnotationMirrors(field, instantText,
+                        instantImage)) {
+                    Binding binding = new Binding();
+                    binding.member = field;
+                    binding.isField = true;
+                    valid &= validate(model, field);
+                    readAnnotationValues(mirror, binding, instantImage);
+                    bindings.add(binding);
+                }
+            }
+            clazz = getSuperclass(clazz);
+        }
+
+        return valid ? bindings : null;
+    }
+
+    private List<Element> findIdMembers(final TypeElement model, final TypeElement instantId) {
+        List<Element> idMembers = new ArrayList<Element>();
+        if (instantId == null) {
+            return idMembers;
+        }
+
+        TypeElement clazz = model;
+        while (clazz != null && !clazz.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (Element member : clazz.getEnclosedElements()) {
+                if ((member.getKind() == ElementKind.METHOD
+                        || member.getKind() == ElementKind.FIELD)
+                        && !findAnnotationMirrors(member, instantId, null).isEmpty()) {
+                    idMembers.add(member);
+                }
+            }
+            clazz = getSuperclass(clazz);
+        }
+        return idMembers;
+    }
+
+    private boolean validateIdMembers(final TypeElement model, final List<Element> idMembers) {
+        if (idMembers.size() > 1) {
+            return error(idMembers.get(1), "%s has more than one @InstantId member",
+                    model.getSimpleName());
+        } else if (idMembers.isEmpty()) {
+            return true;
+        }
+
+        Element idMember = idMembers.get(0);
+        if (idMember.getKind() == ElementKind.FIELD) {
+            if (!validate(model, (VariableElement) idMember)) {
+                return false;
+            } else if (idMember.asType().getKind() != TypeKind.LONG) {
+                return error(idMember, "%s.%s should be a long", model.getSimpleName(),
+                        idMember.getSimpleName());
+            }
+            return true;
+        }
+
+        ExecutableElement method = (ExecutableElement) idMember;
+        String name = model.getSimpleName() + "." + method.getSimpleName() + "()";
+        if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+            return error(method, "%s should be public", name);
+        } else if (!method.getParameters().isEmpty()
+                || method.getReturnType().getKind() != TypeKind.LONG) {
+            return error(method, "%s should have no parameters and return a long", name);
+        }
+        return true;
+    }
+
+    /*
+     * In declaration order, which is also the order reflection reports them in.
+     */
+    private List<AnnotationMirror> findAnnotationMirrors(final Element element,
+            final TypeElement instantText, final TypeElement instantImage) {
+        List<AnnotationMirror> mirrors = new ArrayList<AnnotationMirror>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (isSameType(mirror, instantText) || isSameType(mirror, instantImage)) {
+                mirrors.add(mirror);
+            }
+        }
+        return mirrors;
+    }
+
+    private boolean isSameType(final AnnotationMirror mirror, final TypeElement annotationType) {
+        return annotationType != null
+                && mTypes.isSameType(mirror.getAnnotationType(), annotationType.asType());
+    }
+
+    private TypeElement getSuperclass(final TypeElement clazz) {
+        TypeMirror superclass = clazz.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+
+    private boolean validate(final TypeElement model, final ExecutableElement method,
+            final Binding binding) {
+        String name = model.getSimpleName() + "." + method.getSimpleName() + "()";
+
+        if (!method.getModifiers().contains(Modifier.PUBLIC)) {
+            return error(method, "%s should be public", name);
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() > 1) {
+            return error(method, "%s can have a single Context parameter or should have " +
+                    "no parameters.", name);
+        } else if (parameters.size() == 1) {
+            TypeElement context = mElements.getTypeElement(CONTEXT);
+            if (context == null || !mTypes.isAssignable(context.asType(),
+                    mTypes.erasure(parameters.get(0).asType()))) {
+                return error(method, "%s can have a single Context parameter or should have " +
+                        "no parameters.", name);
+            }
+            binding.hasContextParameter = true;
+        }
+
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            return error(method, "Methods with void return types cannot be annotated, " +
+                    "check %s", name);
+        }
+
+        return true;
+    }
+
+    private boolean validate(final TypeElement model, final VariableElement field) {
+        if (!field.getModifiers().contains(Modifier.PUBLIC)) {
+            return error(field, "%s.%s should be public", model.getSimpleName(),
+                    field.getSimpleName());
+        }
+        return true;
+    }
+
+    private boolean error(final Element element, final String format, final Object... args) {
+        mMessager.printMessage(Kind.ERROR, String.format(format, args), element);
+        return false;
+    }
+
+    private void readAnnotationValues(final AnnotationMirror mirror, final Binding binding,
+            final TypeElement instantImage) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                mElements.getElementValuesWithDefaults(mirror);
+        binding.isImage = isSameType(mirror, instantImage);
+
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : values.entrySet()) {
+            String attribute = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+
+            if ("viewId".equals(attribute)) {
+                binding.viewId = (Integer) value;
+            } else if ("datePatternResId".equals(attribute)) {
+                binding.datePatternResId = (Integer) value;
+            } else if ("datePattern".equals(attribute)) {
+                binding.datePattern = (String) value;
+            } else if ("formatStringResId".equals(attribute)) {
+                binding.formatStringResId = (Integer) value;
+            } else if ("formatString".equals(attribute)) {
+                binding.formatString = (String) value;
+            } else if ("isHtml".equals(attribute)) {
+                binding.isHtml = (Boolean) value;
+            } else if ("placeholderResId".equals(attribute)) {
+                binding.placeholderResId = (Integer) value;
+            }
+        }
+    }
+
+    private void writeBinder(final TypeElement model, final List<Binding> bindings,
+            final Element idMember) {
+        PackageElement packageElement = mElements.getPackageOf(model);
+        String packageName = packageElement.getQualifiedName().toString();
+        String binaryName = mElements.getBinaryName(model).toString();
+        String binderName = (packageName.length() == 0 ? binaryName :
+                binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        String modelName = model.getQualifiedName().toString();
+
+        StringBuilder source = new StringBuilder();
+        source.append("// Generated code from Adapter Kit. Do not modify!\n");
+        if (packageName.length() > 0) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("import android.content.Context;\n");
+        source.append("import ").append(INSTANT_BINDER).append(";\n");
+        if (idMember != null) {
+            source.append("import ").append(INSTANT_ID_BINDER).append(";\n");
+        }
+        source.append("\npublic final class ").append(binderName)
+                .append(idMember != null ? " implements InstantIdBinder<" :
+                        " implements InstantBinder<")
+                .append(modelName).append("> {\n\n");
+
+        source.append("    private static final InstantBinder.Binding[] BINDINGS = {\n");
+        for (Binding binding : bindings) {
+            source.append("        new InstantBinder.Binding(")
+                    .append(literal(binding.member.getSimpleName().toString())).append(", ")
+                    .append(binding.viewId).append(", ")
+                    .append(binding.datePatternResId).append(", ")
+                    .append(literal(binding.datePattern)).append(", ")
+                    .append(binding.formatStringResId).append(", ")
+                    .append(literal(binding.formatString)).append(", ")
+                    .append(binding.isHtml).append(", ")
+                    .append(binding.isImage).append(", ")
+                    .append(binding.placeholderResId).append("),\n");
+        }
+        source.append("    };\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public InstantBinder.Binding[] getBindings() {\n");
+        source.append("        return BINDINGS;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public Object getValue(int index, ").append(modelName)
+                .append(" instance, Context context) {\n");
+        source.append("        switch (index) {\n");
+        for (int i = 0, n = bindings.size(); i < n; i++) {
+            Binding binding = bindings.get(i);
+            source.append("            case ").append(i).append(": return instance.")
+                    .append(binding.member.getSimpleName())
+                    .append(binding.isField ? ";\n" :
+                            binding.hasContextParameter ? "(context);\n" : "();\n");
+        }
+        source.append("            default: throw new IndexOutOfBoundsException(")
+                .append("\"Invalid binding index: \" + index);\n");
+        source.append("        }\n");
+        source.append("    }\n\n");
+
+        if (idMember != null) {
+            source.append("    @Override\n");
+            source.append("    public long getId(").append(modelName).append(" instance) {\n");
+            source.append("        return instance.").append(idMember.getSimpleName())
+                    .append(idMember.getKind() == ElementKind.FIELD ? ";\n" : "();\n");
+            source.append("    }\n\n");
+        }
+        source.append("}\n");
+
+        String qualifiedBinderName = packageName.length() == 0 ?
+                binderName : packageName + "." + binderName;
+        Writer writer = null;
+        try {
+            JavaFileObject sourceFile = mFiler.createSourceFile(qualifiedBinderName, model);
+            writer = sourceFile.openWriter();
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(model, "Unable to write %s: %s", qualifiedBinderName, e.getMessage());
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    // Ignored
+                }
+            }
+        }
+    }
+
+    private static String literal(final String value) {
+        StringBuilder literal = new StringBuilder(value.length() + 2);
+        literal.append('"');
+        for (int i = 0, n = value.length(); i < n; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':  literal.append("\\\""); break;
+            case '\\': literal.append("\\\\"); break;
+            case '\n': literal.append("\\n"); break;
+            case '\r': literal.append("\\r"); break;
+            case '\t': literal.append("\\t"); break;
+            default:
+                if (c < 0x20 || c > 0x7e) {
+                    literal.append(String.format("\\u%04x", (int) c));
+                } else {
+                    literal.append(c);
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+}